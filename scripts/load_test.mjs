@@ -0,0 +1,104 @@
+#!/usr/bin/env node
+/**
+ * Closed-loop load test: CONCURRENCY workers send requests back to back for DURATION seconds and
+ * report throughput and latency percentiles.
+ *
+ * Usage (backend running, demo data seeded):
+ *   BASE_URL=http://localhost:8080 CONCURRENCY=200 DURATION=30 node scripts/load_test.mjs
+ *
+ * Request mix, roughly what the dashboard generates plus logins:
+ *   40% search, 25% non-paged list, 20% stats, 10% pending approvals (paged), 5% login (BCrypt).
+ *
+ * Prints one JSON line (label from LABEL) so runs can be compared; scripts/load_test.sh runs the
+ * platform-thread default and the vthreads profile back to back.
+ */
+
+const BASE = process.env.BASE_URL || "http://localhost:8080";
+const CONCURRENCY = Number(process.env.CONCURRENCY || 200);
+const DURATION_MS = Number(process.env.DURATION || 30) * 1000;
+const WARMUP_MS = Number(process.env.WARMUP || 5) * 1000;
+const LABEL = process.env.LABEL || "run";
+
+async function login(email) {
+  const res = await fetch(`${BASE}/api/auth/login`, {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    body: JSON.stringify({ email, password: "demo1234" }),
+  });
+  if (!res.ok) throw new Error(`login failed for ${email}: ${res.status} ${await res.text()}`);
+  return res.json();
+}
+
+function pick(user, manager) {
+  const r = Math.random();
+  const auth = { Authorization: `Bearer ${manager.token}` };
+  if (r < 0.40) {
+    return [`/api/expense-reports/search?requesterId=${manager.id}&requesterRole=${manager.role}&sort=activity_desc`, { headers: auth }];
+  }
+  if (r < 0.65) return [`/api/expense-reports?submitterId=${user.id}`, { headers: auth }];
+  if (r < 0.85) return ["/api/expense-reports/stats", { headers: auth }];
+  if (r < 0.95) return [`/api/expense-reports/pending-approval?requesterRole=${manager.role}&page=0&size=20`, { headers: auth }];
+  return ["/api/auth/login", {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    body: JSON.stringify({ email: "jun@example.com", password: "demo1234" }),
+  }];
+}
+
+function percentile(sorted, p) {
+  if (sorted.length === 0) return 0;
+  return sorted[Math.min(sorted.length - 1, Math.floor(sorted.length * p))];
+}
+
+async function main() {
+  const user = await login("jun@example.com");
+  const manager = await login("manager@example.com");
+
+  const latencies = [];
+  const statuses = {};
+  let recording = false;
+  const start = Date.now();
+  const warmupEnd = start + WARMUP_MS;
+  const end = warmupEnd + DURATION_MS;
+
+  async function worker() {
+    while (Date.now() < end) {
+      const [path, init] = pick(user, manager);
+      const t0 = performance.now();
+      let status;
+      try {
+        const res = await fetch(`${BASE}${path}`, init);
+        await res.arrayBuffer();
+        status = res.status;
+      } catch {
+        status = "error";
+      }
+      const ms = performance.now() - t0;
+      if (!recording && Date.now() >= warmupEnd) recording = true;
+      if (recording) {
+        statuses[status] = (statuses[status] || 0) + 1;
+        if (status === 200) latencies.push(ms);
+      }
+    }
+  }
+
+  await Promise.all(Array.from({ length: CONCURRENCY }, worker));
+
+  latencies.sort((a, b) => a - b);
+  const seconds = DURATION_MS / 1000;
+  console.log(JSON.stringify({
+    label: LABEL,
+    concurrency: CONCURRENCY,
+    seconds,
+    okPerSecond: Math.round(latencies.length / seconds),
+    p50Ms: Math.round(percentile(latencies, 0.50)),
+    p99Ms: Math.round(percentile(latencies, 0.99)),
+    maxMs: Math.round(latencies[latencies.length - 1] || 0),
+    statuses,
+  }));
+}
+
+main().catch((e) => {
+  console.error(e);
+  process.exit(1);
+});
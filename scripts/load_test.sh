@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Compares the platform-thread default with the vthreads profile under the same load.
+#
+# Usage:
+#   ./mvnw -q -Pjdk21 -DskipTests package      # on a JDK 21+ (on 17 only the DB guard differs)
+#   CONCURRENCY=200 DURATION=30 bash scripts/load_test.sh [extra spring args...]
+#
+# Each mode gets a fresh JVM on PORT, a demo reset, a warmup and a measured run (scripts/load_test.mjs).
+
+PORT="${PORT:-8080}"
+JAR="$(ls target/*-SNAPSHOT.jar | head -1)"
+export BASE_URL="http://localhost:$PORT"
+
+run() {
+  local label="$1"; shift
+  java -jar "$JAR" --server.port="$PORT" "$@" > "target/load_test_$label.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+  for _ in $(seq 1 90); do
+    curl -fs -o /dev/null "$BASE_URL/health" && break
+    sleep 1
+  done
+  # The startup seeder can still be running; retry the reset once.
+  curl -fs -o /dev/null -X POST "$BASE_URL/api/demo/reset" || { sleep 2; curl -fs -o /dev/null -X POST "$BASE_URL/api/demo/reset"; }
+  LABEL="$label" node scripts/load_test.mjs
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+echo "[load-test] $JAR, java $(java -version 2>&1 | head -1)"
+run platform "$@"
+run vthreads --spring.profiles.active=vthreads "$@"
@@ -0,0 +1,104 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Cold-start comparison: the default image against the startup-optimized one (Dockerfile target
+# faststart: Spring AOT + AppCDS archive + lazy initialization).
+#
+# Usage:
+#   bash scripts/startup_bench.sh                 # builds both Docker targets and runs each RUNS times
+#   MODE=jar bash scripts/startup_bench.sh        # same two setups on the local JVM, no Docker needed
+#   RUNS=5 PORT=8081 bash scripts/startup_bench.sh
+#
+# Both run the prod profile against a fresh in-memory H2 database, so the numbers are about the JVM
+# and Spring, not the network to PostgreSQL. Per run it prints one JSON line:
+#   ready_ms     launch -> first HTTP response on the app port (Tomcat up, context refreshed)
+#   first_api_ms the first POST /api/auth/login right after that (JPA, security, lazily created beans)
+#   rss_mb       resident set size of the JVM after those two requests
+# and a median line per setup at the end.
+
+MODE="${MODE:-docker}"
+MVN="${MVN:-sh ./mvnw}"
+RUNS="${RUNS:-3}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:$PORT"
+H2_ENV=(SPRING_DATASOURCE_URL=jdbc:h2:mem:bench SPRING_DATASOURCE_DRIVER_CLASS_NAME=org.h2.Driver
+        SPRING_DATASOURCE_USERNAME=sa DEMO_RESET_ENABLED=false)
+RESULTS="$(mktemp)"
+trap 'rm -f "$RESULTS"' EXIT
+
+now_ms() { date +%s%3N; }
+
+# Waits for /health, times one login, records RSS. $1 label, $2 launch time, $3 command printing VmRSS (kB).
+measure() {
+  local label="$1" started="$2" rss_cmd="$3"
+  local ready=""
+  for _ in $(seq 1 1200); do
+    # Any HTTP status counts: /health sits behind authentication on the app port
+    if [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/health")" != 000 ]; then ready=$(( $(now_ms) - started )); break; fi
+    sleep 0.05
+  done
+  [ -n "$ready" ] || { echo "[startup-bench] $label did not become ready" >&2; return 1; }
+  local api_start; api_start=$(now_ms)
+  curl -s -o /dev/null -X POST "$BASE_URL/api/auth/login" -H 'Content-Type: application/json' \
+    -d '{"email":"jun@example.com","password":"demo1234"}'
+  local first_api=$(( $(now_ms) - api_start ))
+  local rss_kb; rss_kb=$(eval "$rss_cmd")
+  local line="{\"label\":\"$label\",\"ready_ms\":$ready,\"first_api_ms\":$first_api,\"rss_mb\":$(( rss_kb / 1024 ))}"
+  echo "$line"
+  echo "$line" >> "$RESULTS"
+}
+
+run_docker() {
+  local label="$1" image="$2"
+  local env_args=(); for e in "${H2_ENV[@]}"; do env_args+=(-e "$e"); done
+  local started; started=$(now_ms)
+  local cid; cid=$(docker run -d --rm -p "$PORT:8080" -e SPRING_PROFILES_ACTIVE="$3" "${env_args[@]}" "$image")
+  measure "$label" "$started" \
+    "docker exec $cid sh -c 'for p in /proc/[0-9]*; do [ \"\$(cat \$p/comm 2>/dev/null)\" = java ] && grep VmRSS \$p/status; done' | awk '{print \$2}'" \
+    || docker logs "$cid" | tail -20 >&2
+  docker stop "$cid" > /dev/null
+}
+
+# $1 label, $2 working directory (a CDS archive only loads with the classpath it was trained with)
+run_jar() {
+  local label="$1" dir="$2"; shift 2
+  local log; log="$(pwd)/target/startup_bench_$label.log"
+  local started; started=$(now_ms)
+  (cd "$dir" && exec env "${H2_ENV[@]}" java "$@" --server.port="$PORT" > "$log" 2>&1) &
+  local pid=$!
+  measure "$label" "$started" "awk '/VmRSS/ {print \$2}' /proc/$pid/status" || tail -20 "$log" >&2
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+}
+
+if [ "$MODE" = docker ]; then
+  docker build -q -t demo:standard . > /dev/null
+  docker build -q --target faststart -t demo:faststart . > /dev/null
+  for _ in $(seq 1 "$RUNS"); do
+    run_docker standard demo:standard prod
+    run_docker faststart demo:faststart prod,faststart
+  done
+else
+  # Mirrors the Dockerfile stages on the local JVM
+  $MVN -q -DskipTests package && cp target/demo-*.jar target/startup-standard.jar
+  $MVN -q -DskipTests -Pfaststart package
+  rm -rf target/faststart && java -Djarmode=tools -jar target/demo-*-SNAPSHOT.jar extract --destination target/faststart
+  (cd target/faststart && mv demo-*.jar app.jar \
+    && env "${H2_ENV[@]}" java -XX:ArchiveClassesAtExit=app.jsa -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+         -jar app.jar --spring.profiles.active=prod,faststart > ../startup_bench_training.log 2>&1)
+  echo "[startup-bench] java $(java -version 2>&1 | head -1)"
+  for _ in $(seq 1 "$RUNS"); do
+    run_jar standard . -jar target/startup-standard.jar --spring.profiles.active=prod
+    run_jar faststart target/faststart -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true \
+      -jar app.jar --spring.profiles.active=prod,faststart
+  done
+fi
+
+# Median per setup
+for label in standard faststart; do
+  grep "\"label\":\"$label\"" "$RESULTS" | python3 -c '
+import json, statistics, sys
+runs = [json.loads(l) for l in sys.stdin]
+if runs:
+    print(json.dumps({"label": runs[0]["label"] + " (median of %d)" % len(runs),
+                      **{k: statistics.median(r[k] for r in runs) for k in ("ready_ms", "first_api_ms", "rss_mb")}}))'
+done
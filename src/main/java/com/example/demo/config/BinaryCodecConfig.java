@@ -0,0 +1,32 @@
+package com.example.demo.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the same DTOs, chosen by the Accept header:
+ * application/cbor or application/x-jackson-smile (JSON stays the default).
+ *
+ * Built from Spring Boot's Jackson builder so dates, modules and features match the JSON output;
+ * the converters Spring MVC would register on its own use a plain mapper. Field names are written
+ * once per payload (Smile back-references) or as short strings (CBOR), and BigDecimal amounts are
+ * binary instead of decimal text. See bench/SerializationBenchmark for sizes and timings.
+ */
+@Configuration
+public class BinaryCodecConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
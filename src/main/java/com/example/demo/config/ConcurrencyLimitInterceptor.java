@@ -0,0 +1,134 @@
+package com.example.demo.config;
+
+import com.example.demo.exception.OverloadedException;
+import com.example.demo.util.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits for the expensive read endpoints, one limiter per endpoint group:
+ *
+ * - stats:  GET /api/expense-reports/stats
+ * - search: GET /api/expense-reports/search
+ * - list:   the non-paged lists (GET /api/expense-reports and /pending-approval without `page`)
+ * - dashboard: GET /api/dashboard (all of the above at once)
+ *
+ * Each of these can hold a pooled connection for a long time, so a handful of dashboards could starve
+ * approval writes of connections. The limits follow observed latency (AdaptiveConcurrencyLimiter) and a
+ * request over the limit is refused with 503 + Retry-After instead of waiting for a connection.
+ *
+ * The permit is held until the response is complete: for async handlers (CompletableFuture) that is
+ * when the async request completes, not when the handler method returns.
+ *
+ * Metrics per group: concurrency.limit and concurrency.inflight (gauges), concurrency.rejections (counter).
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor, MeterBinder {
+
+    private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+    private static final String PREFIX = "/api/expense-reports";
+
+    private final boolean enabled;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new LinkedHashMap<>();
+
+    public ConcurrencyLimitInterceptor(
+            @Value("${app.concurrency.enabled:true}") boolean enabled,
+            @Value("${app.concurrency.initial-limit:4}") int initialLimit,
+            @Value("${app.concurrency.min-limit:2}") int minLimit,
+            // Keep below the connection pool size so writes always find a connection.
+            @Value("${app.concurrency.max-limit:8}") int maxLimit) {
+        this.enabled = enabled;
+        for (String group : new String[]{"stats", "search", "list", "dashboard"}) {
+            limiters.put(group, new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit));
+        }
+    }
+
+    /** Current limit, in-flight count and latency averages per endpoint group. */
+    public Map<String, AdaptiveConcurrencyLimiter.Stats> stats() {
+        Map<String, AdaptiveConcurrencyLimiter.Stats> stats = new LinkedHashMap<>();
+        limiters.forEach((group, limiter) -> stats.put(group, limiter.stats()));
+        return stats;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        limiters.forEach((group, limiter) -> {
+            Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", group)
+                    .register(registry);
+            Gauge.builder("concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                    .description("Requests holding a concurrency permit")
+                    .tag("group", group)
+                    .register(registry);
+            FunctionCounter.builder("concurrency.rejections", limiter, l -> l.stats().rejected())
+                    .description("Requests refused with 503 over the concurrency limit")
+                    .tag("group", group)
+                    .register(registry);
+        });
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        // The async re-dispatch still holds the permit taken on the first dispatch.
+        if (!enabled || request.getDispatcherType() != DispatcherType.REQUEST) return true;
+        String group = group(request);
+        if (group == null) return true;
+        AdaptiveConcurrencyLimiter.Permit permit = limiters.get(group).tryAcquire();
+        if (permit == null) {
+            throw new OverloadedException("Too many concurrent " + group + " requests. Please retry shortly.", 1);
+        }
+        request.setAttribute(PERMIT, permit);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        if (!(request.getAttribute(PERMIT) instanceof AdaptiveConcurrencyLimiter.Permit permit)) return;
+        // Normally released in afterCompletion of the async dispatch; this also covers timeouts and errors.
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override public void onComplete(AsyncEvent event) { permit.release(); }
+            @Override public void onTimeout(AsyncEvent event) { permit.release(); }
+            @Override public void onError(AsyncEvent event) { permit.release(); }
+            @Override public void onStartAsync(AsyncEvent event) { }
+        });
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof AdaptiveConcurrencyLimiter.Permit permit) {
+            permit.release();
+        }
+    }
+
+    private static String group(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) return null;
+        String path = request.getRequestURI();
+        if ("/api/dashboard".equals(path)) return "dashboard";
+        if (path == null || !path.startsWith(PREFIX)) return null;
+        String rest = path.substring(PREFIX.length());
+        return switch (rest) {
+            case "/stats" -> "stats";
+            case "/search" -> "search";
+            case "", "/", "/pending-approval" -> request.getParameter("page") == null ? "list" : null;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the DataSource in a BoundedDataSource when app.db.guard.enabled is set (the vthreads profile
+ * does) and requests actually run on virtual threads. On a JDK without them the request thread pool
+ * already caps concurrency and the guard would only add a second queue in front of the pool.
+ * Permits default to the Hikari pool size, so the semaphore only moves waiting out of the pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.guard.enabled", havingValue = "true")
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DbGuardConfig {
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment env) {
+        return new BoundedDataSourcePostProcessor(env);
+    }
+
+    // Ordered ahead of InstrumentedDataSource, which then wraps the guard and times its wait as well.
+    private static final class BoundedDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment env;
+
+        BoundedDataSourcePostProcessor(Environment env) {
+            this.env = env;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof BoundedDataSource) {
+                return bean;
+            }
+            int permits = env.getProperty("app.db.guard.permits", Integer.class,
+                    env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+            Duration timeout = env.getProperty("app.db.guard.acquire-timeout", Duration.class, Duration.ofSeconds(2));
+            return new BoundedDataSource(dataSource, permits, timeout);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
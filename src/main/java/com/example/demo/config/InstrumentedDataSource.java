@@ -0,0 +1,255 @@
+package com.example.demo.config;
+
+import com.example.demo.util.LatencyHistogram;
+import com.example.demo.util.RequestTimings;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times connection checkout and every JDBC statement, and keeps the slowest statements.
+ *
+ * - acquire: getConnection() latency, including any wait in the pool (and in BoundedDataSource when the
+ *   guard is on, which sits inside this wrapper)
+ * - statements: execute/executeQuery/executeUpdate/executeBatch latency per repository method. The
+ *   repository proxies set the method (see JdbcInstrumentationConfig); JdbcTemplate code and flushes at
+ *   commit outside a repository call are counted as "other". executeQuery is timed until the first rows
+ *   are available, not until the result set is drained.
+ * - slow queries: statements over the threshold, newest first, at most `slowLogSize` of them
+ *
+ * Pool counts come straight from Hikari (null when the target is not a Hikari pool or has not started).
+ *
+ * {@link #registerMeters} exports the same numbers as db.connection.acquire, db.statements{method} and
+ * db.slow.queries; a method seen for the first time after that gets its meter when its first statement runs.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    static final String OTHER = "other";
+    private static final int MAX_SQL_LENGTH = 2000;
+    private static final ThreadLocal<String> CURRENT_METHOD = new ThreadLocal<>();
+
+    public record PoolStats(int active, int idle, int pending, int total, int max) {}
+
+    public record Stats(PoolStats pool, LatencyHistogram.Stats acquire, Map<String, LatencyHistogram.Stats> statements) {}
+
+    public record SlowQuery(LocalDateTime at, String method, double millis, String sql, String thread) {}
+
+    /** `recent` is newest first; `total` counts every slow statement since startup. */
+    public record SlowQueryLog(double thresholdMillis, long total, List<SlowQuery> recent) {}
+
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> statements = new ConcurrentHashMap<>();
+    private final long slowThresholdNanos;
+    private final int slowLogSize;
+    private final Deque<SlowQuery> slowLog;
+    private final AtomicLong slowCount = new AtomicLong();
+    private final List<MeterRegistry> registries = new CopyOnWriteArrayList<>();
+
+    public InstrumentedDataSource(DataSource target, Duration slowThreshold, int slowLogSize) {
+        super(target);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowLogSize = Math.max(1, slowLogSize);
+        this.slowLog = new ArrayDeque<>(this.slowLogSize);
+    }
+
+    /**
+     * Attributes statements run by the current thread to `method` until the returned previous value is
+     * restored with {@link #restoreMethod}.
+     */
+    static String enterMethod(String method) {
+        String previous = CURRENT_METHOD.get();
+        CURRENT_METHOD.set(method);
+        return previous;
+    }
+
+    static void restoreMethod(String previous) {
+        if (previous == null) CURRENT_METHOD.remove();
+        else CURRENT_METHOD.set(previous);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        acquire.record(System.nanoTime() - start);
+        return instrument(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        acquire.record(System.nanoTime() - start);
+        return instrument(connection);
+    }
+
+    public Stats stats() {
+        Map<String, LatencyHistogram.Stats> byMethod = new TreeMap<>();
+        statements.forEach((method, histogram) -> byMethod.put(method, histogram.stats()));
+        return new Stats(poolStats(), acquire.stats(), byMethod);
+    }
+
+    public SlowQueryLog slowQueryLog() {
+        List<SlowQuery> recent;
+        synchronized (slowLog) {
+            recent = new ArrayList<>(slowLog);
+        }
+        return new SlowQueryLog(slowThresholdNanos / 1_000_000d, slowCount.get(), recent);
+    }
+
+    /** Function meters over the histograms and counters above, so recording stays as it is. */
+    public void registerMeters(MeterRegistry registry) {
+        registries.add(registry);
+        FunctionTimer.builder("db.connection.acquire", acquire, LatencyHistogram::count,
+                        LatencyHistogram::totalMillis, TimeUnit.MILLISECONDS)
+                .description("Connection checkout, including any wait for the pool or the DB guard")
+                .register(registry);
+        FunctionCounter.builder("db.slow.queries", slowCount, AtomicLong::get)
+                .description("Statements over app.db.slow-query.threshold")
+                .register(registry);
+        statements.forEach((method, histogram) -> registerStatementMeter(registry, method, histogram));
+    }
+
+    private static void registerStatementMeter(MeterRegistry registry, String method, LatencyHistogram histogram) {
+        FunctionTimer.builder("db.statements", histogram, LatencyHistogram::count,
+                        LatencyHistogram::totalMillis, TimeUnit.MILLISECONDS)
+                .description("JDBC statement execution by repository method")
+                .tag("method", method)
+                .register(registry);
+    }
+
+    public PoolStats poolStats() {
+        HikariDataSource hikari = hikari();
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool == null) return null;
+        return new PoolStats(pool.getActiveConnections(), pool.getIdleConnections(),
+                pool.getThreadsAwaitingConnection(), pool.getTotalConnections(), hikari.getMaximumPoolSize());
+    }
+
+    private HikariDataSource hikari() {
+        try {
+            DataSource target = obtainTargetDataSource();
+            return target.isWrapperFor(HikariDataSource.class) ? target.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private void record(String sql, long nanos) {
+        String method = CURRENT_METHOD.get();
+        if (method == null) method = OTHER;
+        statementHistogram(method).record(nanos);
+        RequestTimings.record(RequestTimings.Phase.DB, nanos);
+        if (nanos < slowThresholdNanos) return;
+        slowCount.incrementAndGet();
+        String text = sql == null ? "" : sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+        SlowQuery entry = new SlowQuery(LocalDateTime.now(), method, nanos / 1_000_000d, text, Thread.currentThread().getName());
+        synchronized (slowLog) {
+            if (slowLog.size() == slowLogSize) slowLog.removeLast();
+            slowLog.addFirst(entry);
+        }
+    }
+
+    private LatencyHistogram statementHistogram(String method) {
+        LatencyHistogram histogram = statements.get(method);
+        if (histogram != null) return histogram;
+        LatencyHistogram created = new LatencyHistogram();
+        histogram = statements.putIfAbsent(method, created);
+        if (histogram != null) return histogram;
+        // Registering an existing id is a no-op, so racing with registerMeters is harmless
+        for (MeterRegistry registry : registries) registerStatementMeter(registry, method, created);
+        return created;
+    }
+
+    private Connection instrument(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    Object result = invoke(target, method, args);
+                    if (result instanceof CallableStatement statement) {
+                        return instrument(statement, CallableStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return instrument(statement, PreparedStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof Statement statement) {
+                        return instrument(statement, Statement.class, null);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement instrument(Statement target, Class<? extends Statement> type, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new InvocationHandler() {
+                    // Plain statements take their SQL with each call (or addBatch)
+                    private String batchSql;
+
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        switch (name) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "addBatch":
+                                if (args != null && args.length == 1 && args[0] instanceof String sql) batchSql = sql;
+                                return InstrumentedDataSource.invoke(target, method, args);
+                            default:
+                                break;
+                        }
+                        if (!name.startsWith("execute")) return InstrumentedDataSource.invoke(target, method, args);
+                        String sql = preparedSql != null ? preparedSql
+                                : args != null && args.length > 0 && args[0] instanceof String s ? s : batchSql;
+                        long start = System.nanoTime();
+                        try {
+                            return InstrumentedDataSource.invoke(target, method, args);
+                        } finally {
+                            record(sql, System.nanoTime() - start);
+                        }
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
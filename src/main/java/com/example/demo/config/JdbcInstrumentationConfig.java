@@ -0,0 +1,72 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Wraps the DataSource in an InstrumentedDataSource (on unless app.db.instrumentation.enabled=false)
+ * and tags the statements each Spring Data repository method runs with "Repository.method"
+ * (RepositoryMethodTagger). jdbcMeters exports the wrapper's numbers to Micrometer.
+ *
+ * The wrapper is applied last, outside BoundedDataSource, so acquire latency includes the guard's wait.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcInstrumentationConfig {
+
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(Environment env) {
+        return new InstrumentedDataSourcePostProcessor(env);
+    }
+
+    @Bean
+    public RepositoryMethodTagger repositoryMethodTagger() {
+        return new RepositoryMethodTagger();
+    }
+
+    @Bean
+    public MeterBinder jdbcMeters(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (dataSource.isWrapperFor(InstrumentedDataSource.class)) {
+                    dataSource.unwrap(InstrumentedDataSource.class).registerMeters(registry);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Cannot reach InstrumentedDataSource", e);
+            }
+        };
+    }
+
+    private static final class InstrumentedDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment env;
+
+        InstrumentedDataSourcePostProcessor(Environment env) {
+            this.env = env;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof InstrumentedDataSource) {
+                return bean;
+            }
+            Duration threshold = env.getProperty("app.db.slow-query.threshold", Duration.class, Duration.ofMillis(200));
+            int logSize = env.getProperty("app.db.slow-query.log-size", Integer.class, 100);
+            return new InstrumentedDataSource(dataSource, threshold, logSize);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.demo.config;
+
+import com.example.demo.util.GcraRateLimiter;
+import com.example.demo.util.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cluster-wide rate limits: GCRA state lives in the shared rate_limit_buckets table, and each node
+ * leases small batches of tokens from it and hands them out locally, so the database is hit about
+ * once per lease-size requests per key and node. A refused lease is remembered until the wait it
+ * reported has passed, so a client that keeps hitting its limit does not reach the database either.
+ *
+ * A lease is taken under a row lock (select ... for update) and moves the key's TAT forward by the
+ * number of tokens granted, so the cluster as a whole never admits more than the configured rate.
+ * Tokens a node leased but did not use expire with the lease (after the time they represent); that
+ * only makes the limit stricter, by at most one batch per node.
+ *
+ * Times are node wall-clock milliseconds, so node clocks are assumed to be in sync (NTP). If the
+ * store is unreachable the limiter falls back to a per-node GcraRateLimiter with the same settings.
+ */
+public class JdbcRateLimitStore implements RateLimiterFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcRateLimitStore.class);
+
+    private static final String LOCK = "select tat from rate_limit_buckets where bucket_key = ? for update";
+    private static final String CREATE = """
+            insert into rate_limit_buckets (bucket_key, tat)
+            select ?, ? where not exists (select 1 from rate_limit_buckets where bucket_key = ?)
+            """;
+    private static final String ADVANCE = "update rate_limit_buckets set tat = ? where bucket_key = ?";
+    private static final String PURGE = "delete from rate_limit_buckets where tat < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int leaseSize;
+    private final int maxKeys;
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicBoolean degraded = new AtomicBoolean();
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              int leaseSize, int maxKeys) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseSize = Math.max(1, leaseSize);
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    @Override
+    public RateLimiter create(String name, int limit, Duration period, int burst) {
+        long intervalMillis = Math.max(1, period.toMillis() / Math.max(1, limit));
+        int batch = Math.min(leaseSize, Math.max(1, burst));
+        return new LeasedLimiter(name, intervalMillis, intervalMillis * (Math.max(1, burst) - 1), batch,
+                GcraRateLimiter.of(limit, period, burst, maxKeys));
+    }
+
+    /** Number of leases taken from the shared store since startup. */
+    public long leaseCount() {
+        return leases.get();
+    }
+
+    @Scheduled(fixedDelayString = "${demo.guard.cluster.purge-interval-ms:60000}")
+    public void purgeIdle() {
+        try {
+            jdbcTemplate.update(PURGE, System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            log.warn("Rate limit bucket purge failed: {}", e.getMessage());
+        }
+    }
+
+    private record Grant(int tokens, long waitMillis) {}
+
+    /** Takes up to `wanted` tokens for key; returns how many were granted, or the wait if none. */
+    private Grant lease(String key, int wanted, long intervalMillis, long toleranceMillis) {
+        leases.incrementAndGet();
+        Grant grant = transactionTemplate.execute(tx -> leaseLocked(key, wanted, intervalMillis, toleranceMillis));
+        if (grant != null) return grant;
+        try {
+            long now = System.currentTimeMillis();
+            jdbcTemplate.update(CREATE, key, now, key);
+        } catch (DuplicateKeyException ignored) {
+            // Another node created it first.
+        }
+        return transactionTemplate.execute(tx -> leaseLocked(key, wanted, intervalMillis, toleranceMillis));
+    }
+
+    // null when the key has no row yet
+    private Grant leaseLocked(String key, int wanted, long intervalMillis, long toleranceMillis) {
+        List<Long> rows = jdbcTemplate.queryForList(LOCK, Long.class, key);
+        if (rows.isEmpty()) return null;
+        long now = System.currentTimeMillis();
+        long base = Math.max(rows.get(0), now);
+        // Tokens that fit before base - now would exceed the tolerance
+        long available = (now + toleranceMillis + intervalMillis - base) / intervalMillis;
+        int granted = (int) Math.max(0, Math.min(wanted, available));
+        if (granted == 0) {
+            return new Grant(0, base - now - toleranceMillis);
+        }
+        jdbcTemplate.update(ADVANCE, base + granted * intervalMillis, key);
+        return new Grant(granted, 0);
+    }
+
+    /** Tokens leased for one key on this node. */
+    private static final class Lease {
+        // Held across the JDBC lease; a monitor would pin a virtual thread's carrier for the round trip
+        final ReentrantLock refill = new ReentrantLock();
+        final AtomicInteger remaining = new AtomicInteger();
+        volatile long expiresAtNanos;
+        // After a refused lease: the shared TAT only moves forward, so nothing can be granted before this.
+        volatile long deniedUntilNanos;
+
+        long denied(long now) {
+            long wait = deniedUntilNanos - now;
+            return wait > 0 ? wait : 0;
+        }
+
+        boolean tryTake(long now) {
+            if (now - expiresAtNanos >= 0) return false;
+            while (true) {
+                int r = remaining.get();
+                if (r <= 0) return false;
+                if (remaining.compareAndSet(r, r - 1)) return true;
+            }
+        }
+    }
+
+    private final class LeasedLimiter implements RateLimiter {
+        private final String name;
+        private final long intervalMillis;
+        private final long toleranceMillis;
+        private final int batch;
+        private final RateLimiter fallback;
+        private final Map<String, Lease> local = new ConcurrentHashMap<>();
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+
+        LeasedLimiter(String name, long intervalMillis, long toleranceMillis, int batch, RateLimiter fallback) {
+            this.name = name;
+            this.intervalMillis = intervalMillis;
+            this.toleranceMillis = toleranceMillis;
+            this.batch = batch;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public long tryAcquire(String key) {
+            long now = System.nanoTime();
+            Lease lease = local.get(key);
+            if (lease != null) {
+                if (lease.tryTake(now)) return 0;
+                long wait = lease.denied(now);
+                if (wait > 0) return wait;
+            } else {
+                lease = local.computeIfAbsent(key, k -> new Lease());
+                if (local.size() > maxKeys) evictExpired(now);
+            }
+            // Slow path: one thread per key goes to the store, the others wait for its lease.
+            lease.refill.lock();
+            try {
+                if (lease.tryTake(now)) return 0;
+                long wait = lease.denied(now);
+                if (wait > 0) return wait;
+                Grant grant;
+                try {
+                    grant = lease(name + ":" + key, batch, intervalMillis, toleranceMillis);
+                } catch (DataAccessException e) {
+                    if (degraded.compareAndSet(false, true)) {
+                        log.warn("Shared rate limit store unavailable, limiting per node: {}", e.getMessage());
+                    }
+                    return fallback.tryAcquire(key);
+                }
+                if (degraded.compareAndSet(true, false)) {
+                    log.info("Shared rate limit store reachable again");
+                }
+                if (grant.tokens() == 0) {
+                    long waitNanos = Duration.ofMillis(Math.max(1, grant.waitMillis())).toNanos();
+                    lease.deniedUntilNanos = System.nanoTime() + waitNanos;
+                    return waitNanos;
+                }
+                lease.remaining.set(grant.tokens() - 1);
+                lease.expiresAtNanos = System.nanoTime() + Duration.ofMillis(grant.tokens() * intervalMillis).toNanos();
+                return 0;
+            } finally {
+                lease.refill.unlock();
+            }
+        }
+
+        private void evictExpired(long now) {
+            if (!sweeping.compareAndSet(false, true)) return;
+            try {
+                local.entrySet().removeIf(e -> now - e.getValue().expiresAtNanos >= 0 && e.getValue().denied(now) == 0);
+                // Still full: dropping a live lease only forfeits its tokens.
+                var it = local.keySet().iterator();
+                while (local.size() > maxKeys && it.hasNext()) {
+                    it.next();
+                    it.remove();
+                }
+            } finally {
+                sweeping.set(false);
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.demo.config;
 
+import com.example.demo.util.BoundedTtlCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,20 +10,37 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
 
+/**
+ * Issues and verifies the HMAC-signed access tokens.
+ *
+ * The parser is built once (jjwt parsers are immutable and thread-safe). Verified claims are kept in a
+ * bounded cache keyed by the SHA-256 of the token, so the raw bearer token is never held, and each
+ * entry expires at the token's own exp; a page load that sends the same token dozens of times pays for
+ * the signature check and JSON parse once. Tokens that fail verification are never cached.
+ */
 @Component
 public class JwtUtil {
 
     private final SecretKey key;
     private final long expirationMs;
+    private final JwtParser parser;
+    private final BoundedTtlCache<String, Claims> verified;   // null when disabled
 
     public JwtUtil(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expiration-ms:86400000}") long expirationMs) {
+            @Value("${app.jwt.expiration-ms:86400000}") long expirationMs,
+            @Value("${app.jwt.cache.max-size:10000}") int cacheMaxSize) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verified = cacheMaxSize > 0 ? new BoundedTtlCache<>(cacheMaxSize, Duration.ofMillis(expirationMs)) : null;
     }
 
     public String generateToken(Long userId, String name, String email, String role) {
@@ -39,10 +58,32 @@ public class JwtUtil {
     }
 
     public Claims validateToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        if (verified == null) {
+            return parser.parseSignedClaims(token).getPayload();
+        }
+        String digest = digest(token);
+        var cached = verified.getIfPresent(digest);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date exp = claims.getExpiration();
+        if (exp != null) {
+            verified.put(digest, claims, Duration.ofMillis(exp.getTime() - System.currentTimeMillis()));
+        }
+        return claims;
+    }
+
+    public BoundedTtlCache.Stats cacheStats() {
+        return verified != null ? verified.stats() : new BoundedTtlCache.Stats(0, 0, 0, 0, 0);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
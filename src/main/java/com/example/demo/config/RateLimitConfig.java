@@ -0,0 +1,31 @@
+package com.example.demo.config;
+
+import com.example.demo.util.GcraRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Rate limiter backend for RateLimitFilter:
+ * - local: per-instance GcraRateLimiter (limits multiply by the number of instances)
+ * - jdbc: shared JdbcRateLimitStore, for several instances behind a load balancer
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiterFactory rateLimiterFactory(
+            @Value("${demo.guard.backend:local}") String backend,
+            @Value("${demo.guard.max-keys:10000}") int maxKeys,
+            @Value("${demo.guard.cluster.lease-size:10}") int leaseSize,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        return switch (backend.trim().toLowerCase()) {
+            case "local" -> (name, limit, period, burst) -> GcraRateLimiter.of(limit, period, burst, maxKeys);
+            case "jdbc" -> new JdbcRateLimitStore(jdbcTemplate, transactionManager, leaseSize, maxKeys);
+            default -> throw new IllegalArgumentException("Unknown demo.guard.backend: " + backend + " (expected local or jdbc)");
+        };
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.demo.config;
 
+import com.example.demo.util.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,8 +13,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Lightweight in-memory rate limiting for the public demo.
@@ -21,30 +23,51 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Keep the demo usable without accounts/keys
  *
  * Notes:
- * - In-memory per-instance only (sufficient for small public demo)
  * - Keep limits lenient enough to not break normal demo usage
+ * - Per-IP state is one CAS-updated long in a bounded table (GcraRateLimiter), so an address
+ *   scan cannot grow the heap and concurrent checks never block each other
+ * - Per instance by default; demo.guard.backend=jdbc shares the limits across instances
+ *   (see RateLimitConfig)
  */
 @Component
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    // Enable only in prod by default (can be turned on explicitly via env var).
-    @Value("${demo.guard.enabled:false}")
-    private boolean enabled;
-
-    // Demo reset endpoint is the most sensitive.
-    @Value("${demo.guard.reset.max-per-minute:6}")
-    private int resetMaxPerMinute;
-
-    @Value("${demo.guard.reset.cooldown-seconds:20}")
-    private int resetCooldownSeconds;
-
-    // Generic write endpoints (create/update/submit/approve/reject/decide)
-    @Value("${demo.guard.writes.max-per-minute:120}")
-    private int writesMaxPerMinute;
+    private final boolean enabled;
+    private final RateLimiter resetCooldown;
+    private final RateLimiter resetLimiter;
+    private final RateLimiter writeLimiter;
+    private final Counter resetCooldownRejections;
+    private final Counter resetRejections;
+    private final Counter writeRejections;
+
+    public RateLimitFilter(
+            RateLimiterFactory limiters,
+            MeterRegistry meterRegistry,
+            // Enable only in prod by default (can be turned on explicitly via env var).
+            @Value("${demo.guard.enabled:false}") boolean enabled,
+            // Demo reset endpoint is the most sensitive.
+            @Value("${demo.guard.reset.max-per-minute:6}") int resetMaxPerMinute,
+            @Value("${demo.guard.reset.cooldown-seconds:20}") int resetCooldownSeconds,
+            // Generic write endpoints (create/update/submit/approve/reject/decide)
+            @Value("${demo.guard.writes.max-per-minute:120}") int writesMaxPerMinute) {
+        this.enabled = enabled;
+        // One reset per cooldown period, no burst: the same rule as "at least N seconds since the last one".
+        this.resetCooldown = limiters.create("reset-cooldown", 1, Duration.ofSeconds(Math.max(1, resetCooldownSeconds)), 1);
+        int resets = Math.max(1, resetMaxPerMinute);
+        this.resetLimiter = limiters.create("reset", resets, Duration.ofMinutes(1), resets);
+        int writes = Math.max(1, writesMaxPerMinute);
+        this.writeLimiter = limiters.create("writes", writes, Duration.ofMinutes(1), writes);
+        this.resetCooldownRejections = rejections(meterRegistry, "reset-cooldown");
+        this.resetRejections = rejections(meterRegistry, "reset");
+        this.writeRejections = rejections(meterRegistry, "writes");
+    }
 
-    private final Map<String, TokenBucket> resetBuckets = new ConcurrentHashMap<>();
-    private final Map<String, TokenBucket> writeBuckets = new ConcurrentHashMap<>();
-    private final Map<String, Long> resetLastMs = new ConcurrentHashMap<>();
+    private static Counter rejections(MeterRegistry registry, String limiter) {
+        return Counter.builder("rate.limit.rejections")
+                .description("Requests refused with 429 by RateLimitFilter")
+                .tag("limiter", limiter)
+                .register(registry);
+    }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -69,29 +92,29 @@ public class RateLimitFilter extends OncePerRequestFilter {
 
         // 1) Reset cooldown + RPM
         if ("/api/demo/reset".equals(path)) {
-            long now = System.currentTimeMillis();
-            Long last = resetLastMs.get(ip);
-            if (last != null && (now - last) < (resetCooldownSeconds * 1000L)) {
-                tooMany(response, "Reset cooldown active. Please wait a bit and try again.");
+            long wait = resetCooldown.tryAcquire(ip);
+            if (wait > 0) {
+                resetCooldownRejections.increment();
+                tooMany(response, wait, "Reset cooldown active. Please wait a bit and try again.");
                 return;
             }
-
-            TokenBucket bucket = resetBuckets.computeIfAbsent(ip, k -> TokenBucket.perMinute(resetMaxPerMinute));
-            if (!bucket.tryConsume()) {
-                tooMany(response, "Too many reset requests. Please slow down.");
+            wait = resetLimiter.tryAcquire(ip);
+            if (wait > 0) {
+                resetRejections.increment();
+                tooMany(response, wait, "Too many reset requests. Please slow down.");
                 return;
             }
 
-            resetLastMs.put(ip, now);
             filterChain.doFilter(request, response);
             return;
         }
 
         // 2) Generic write rate limiting for the rest of POST/PUT/DELETE API writes.
         if (isWriteEndpoint(path)) {
-            TokenBucket bucket = writeBuckets.computeIfAbsent(ip, k -> TokenBucket.perMinute(writesMaxPerMinute));
-            if (!bucket.tryConsume()) {
-                tooMany(response, "Too many requests. Please slow down.");
+            long wait = writeLimiter.tryAcquire(ip);
+            if (wait > 0) {
+                writeRejections.increment();
+                tooMany(response, wait, "Too many requests. Please slow down.");
                 return;
             }
         }
@@ -108,8 +131,9 @@ public class RateLimitFilter extends OncePerRequestFilter {
         return false;
     }
 
-    private static void tooMany(HttpServletResponse response, String msg) throws IOException {
+    private static void tooMany(HttpServletResponse response, long waitNanos, String msg) throws IOException {
         response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
         response.setContentType("application/json");
         response.getWriter().write("{\"error\":\"" + escapeJson(msg) + "\"}");
     }
@@ -131,45 +155,4 @@ public class RateLimitFilter extends OncePerRequestFilter {
         if (realIp != null && !realIp.isBlank()) return realIp.trim();
         return request.getRemoteAddr() != null ? request.getRemoteAddr() : "unknown";
     }
-
-    static final class TokenBucket {
-        private final int capacity;
-        private final long refillEveryMs;
-
-        private int tokens;
-        private long lastRefillMs;
-
-        private TokenBucket(int capacity, long refillEveryMs) {
-            this.capacity = Math.max(1, capacity);
-            this.refillEveryMs = Math.max(1000L, refillEveryMs);
-            this.tokens = this.capacity;
-            this.lastRefillMs = System.currentTimeMillis();
-        }
-
-        static TokenBucket perMinute(int maxPerMinute) {
-            int cap = Math.max(1, maxPerMinute);
-            // refill 1 token at a time over the minute.
-            long every = Duration.ofMinutes(1).toMillis() / cap;
-            return new TokenBucket(cap, every);
-        }
-
-        synchronized boolean tryConsume() {
-            refill();
-            if (tokens <= 0) return false;
-            tokens -= 1;
-            return true;
-        }
-
-        private void refill() {
-            long now = System.currentTimeMillis();
-            long elapsed = now - lastRefillMs;
-            if (elapsed < refillEveryMs) return;
-
-            int add = (int) (elapsed / refillEveryMs);
-            if (add <= 0) return;
-
-            tokens = Math.min(capacity, tokens + add);
-            lastRefillMs = now;
-        }
-    }
 }
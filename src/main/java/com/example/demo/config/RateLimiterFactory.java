@@ -0,0 +1,15 @@
+package com.example.demo.config;
+
+import com.example.demo.util.RateLimiter;
+
+import java.time.Duration;
+
+/**
+ * Creates the limiters RateLimitFilter uses; the backend is picked in RateLimitConfig.
+ */
+@FunctionalInterface
+public interface RateLimiterFactory {
+
+    /** At most `limit` requests per `period` per key, up to `burst` of them at once. */
+    RateLimiter create(String name, int limit, Duration period, int burst);
+}
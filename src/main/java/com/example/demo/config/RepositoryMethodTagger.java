@@ -0,0 +1,47 @@
+package com.example.demo.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attributes the statements a Spring Data repository call runs to "Repository.method" in
+ * InstrumentedDataSource. Registered by JdbcInstrumentationConfig.
+ *
+ * The aspect proxy wraps the repository proxy, so statements flushed when the repository's own
+ * transaction commits are attributed too.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RepositoryMethodTagger {
+
+    // Repository proxy class -> "UserRepository."
+    private final Map<Class<?>, String> prefixes = new ConcurrentHashMap<>();
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object tag(ProceedingJoinPoint call) throws Throwable {
+        String previous = InstrumentedDataSource.enterMethod(
+                prefixes.computeIfAbsent(call.getTarget().getClass(), RepositoryMethodTagger::prefix)
+                        + call.getSignature().getName());
+        try {
+            return call.proceed();
+        } finally {
+            InstrumentedDataSource.restoreMethod(previous);
+        }
+    }
+
+    private static String prefix(Class<?> proxyClass) {
+        return Arrays.stream(proxyClass.getInterfaces())
+                .filter(i -> Repository.class.isAssignableFrom(i) && !i.getName().startsWith("org.springframework."))
+                .findFirst()
+                .map(i -> i.getSimpleName() + ".")
+                .orElse("");
+    }
+}
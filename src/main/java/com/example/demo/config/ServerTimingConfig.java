@@ -0,0 +1,140 @@
+package com.example.demo.config;
+
+import com.example.demo.util.RequestTimings;
+import com.example.demo.util.RequestTimings.Phase;
+import lombok.NonNull;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Times Jackson serialization (JSON, Smile, CBOR) for the Server-Timing header (see ServerTimingFilter).
+ *
+ * A response body is written and committed inside the converter, so the header has to be added there:
+ * when it is wanted, the body is serialized into a buffer first, the time recorded, the header set and
+ * then the bytes written. Otherwise the converter writes straight to the response as before.
+ */
+@Configuration
+public class ServerTimingConfig {
+
+    @Bean
+    public WebMvcConfigurer serverTimingConverters() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+                converters.replaceAll(c -> c instanceof AbstractJackson2HttpMessageConverter jackson
+                        ? new TimedJacksonConverter(jackson) : c);
+            }
+        };
+    }
+
+    static final class TimedJacksonConverter implements GenericHttpMessageConverter<Object> {
+
+        private final AbstractJackson2HttpMessageConverter delegate;
+
+        TimedJacksonConverter(AbstractJackson2HttpMessageConverter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+            return delegate.canRead(type, contextClass, mediaType);
+        }
+
+        @Override
+        public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+                throws IOException, HttpMessageNotReadableException {
+            return delegate.read(type, contextClass, inputMessage);
+        }
+
+        @Override
+        public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+            return delegate.canWrite(type, clazz, mediaType);
+        }
+
+        @Override
+        public void write(Object o, Type type, MediaType contentType, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            RequestTimings timings = RequestTimings.current();
+            if (timings == null || !timings.headerWanted()) {
+                delegate.write(o, type, contentType, outputMessage);
+                return;
+            }
+            Buffered buffered = new Buffered(outputMessage.getHeaders());
+            long start = System.nanoTime();
+            delegate.write(o, type, contentType, buffered);
+            timings.add(Phase.SERIALIZATION, System.nanoTime() - start);
+            outputMessage.getHeaders().add("Server-Timing", timings.header());
+            buffered.body.writeTo(outputMessage.getBody());
+            outputMessage.getBody().flush();
+        }
+
+        @Override
+        public boolean canRead(Class<?> clazz, MediaType mediaType) {
+            return delegate.canRead(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            return delegate.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        public List<MediaType> getSupportedMediaTypes() {
+            return delegate.getSupportedMediaTypes();
+        }
+
+        @Override
+        public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+            return delegate.getSupportedMediaTypes(clazz);
+        }
+
+        @Override
+        public Object read(Class<?> clazz, HttpInputMessage inputMessage)
+                throws IOException, HttpMessageNotReadableException {
+            return delegate.read(clazz, inputMessage);
+        }
+
+        @Override
+        public void write(Object o, MediaType contentType, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            write(o, null, contentType, outputMessage);
+        }
+    }
+
+    // Shares the real headers (Content-Type set by the delegate lands on the response) but holds the body
+    private static final class Buffered implements HttpOutputMessage {
+
+        private final HttpHeaders headers;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(8192);
+
+        Buffered(HttpHeaders headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.config;
+
+import com.example.demo.util.RequestTimings;
+import com.example.demo.util.RequestTimings.Phase;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Per-request phase timings: JWT verification, SQL statements (count and time), policy evaluation and
+ * response serialization, collected in a {@link RequestTimings} bound to the request.
+ *
+ * - Server-Timing header: for every request when `app.server-timing.enabled`, otherwise only for callers
+ *   whose role is in `app.server-timing.roles`. Bodies written by Jackson get it from the converter
+ *   (see ServerTimingConfig) so serialization is included; other responses get it here, unless the
+ *   response is already committed (streamed exports).
+ * - Request log: a `app.server-timing.log-sample-rate` fraction of requests is logged with the same
+ *   numbers, whether or not the header was sent.
+ *
+ * Runs ahead of Spring Security so token verification is inside the measured window. Async handlers
+ * (dashboard) keep the same timings across both dispatches, and the read pool binds them on its
+ * threads, so their queries count too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+    private static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private final boolean enabled;
+    private final Set<String> authorities;
+    private final double logSampleRate;
+
+    public ServerTimingFilter(@Value("${app.server-timing.enabled:false}") boolean enabled,
+                              @Value("${app.server-timing.roles:CFO,CEO}") String roles,
+                              @Value("${app.server-timing.log-sample-rate:0.01}") double logSampleRate) {
+        this.enabled = enabled;
+        this.authorities = Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(r -> !r.isEmpty())
+                .map(r -> "ROLE_" + r.toUpperCase())
+                .collect(Collectors.toUnmodifiableSet());
+        this.logSampleRate = logSampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = (RequestTimings) request.getAttribute(ATTRIBUTE);
+        if (timings == null) {
+            timings = new RequestTimings(this::headerWanted);
+            request.setAttribute(ATTRIBUTE, timings);
+        }
+        RequestTimings previous = RequestTimings.bind(timings);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.restore(previous);
+        }
+        if (request.isAsyncStarted()) return;   // finished by the async dispatch
+
+        if (!response.isCommitted() && timings.headerWanted()) {
+            response.addHeader("Server-Timing", timings.header());
+        }
+        if (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            log.info("{} {} {} total={}ms auth={}ms db={}ms/{} policy={}ms ser={}ms",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(),
+                    RequestTimings.millis(timings.elapsedNanos()),
+                    RequestTimings.millis(timings.nanos(Phase.AUTH)),
+                    RequestTimings.millis(timings.nanos(Phase.DB)), timings.count(Phase.DB),
+                    RequestTimings.millis(timings.nanos(Phase.POLICY)),
+                    RequestTimings.millis(timings.nanos(Phase.SERIALIZATION)));
+        }
+    }
+
+    // The security context is cleared once the chain returns, so the role check only passes while a
+    // body is being written; empty responses (204, 304) get the header only when it is on for everyone.
+    private boolean headerWanted() {
+        if (enabled) return true;
+        if (authorities.isEmpty()) return false;
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) return false;
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            if (authorities.contains(authority.getAuthority())) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Beans that stay eager when the faststart profile turns on lazy initialization
+ * (application-faststart.yml); everything else is created on first use.
+ *
+ * - Beans with @Scheduled methods: scheduling is set up when a bean is created, so a lazy outbox
+ *   flusher or event dispatcher would never run.
+ * - MeterBinders: gauges should be scraped from the first minute, not after someone hits the code.
+ * - The DataSource and EntityManagerFactory: the pool and Hibernate bootstrap are the slowest part of
+ *   the first request, and the migrations must have run before the instance is marked healthy.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBackgroundBeans() {
+        return (beanName, beanDefinition, beanType) ->
+                MeterBinder.class.isAssignableFrom(beanType)
+                        || DataSource.class.isAssignableFrom(beanType)
+                        || EntityManagerFactory.class.isAssignableFrom(beanType)
+                        || hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType, m -> found.set(true),
+                m -> !found.get() && AnnotatedElementUtils.hasAnnotation(m, Scheduled.class));
+        return found.get();
+    }
+}
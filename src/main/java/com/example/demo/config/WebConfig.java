@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.Arrays;
@@ -38,6 +39,16 @@ public class WebConfig {
         };
     }
 
+    @Bean
+    public WebMvcConfigurer concurrencyLimitConfigurer(ConcurrencyLimitInterceptor concurrencyLimitInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(@NonNull InterceptorRegistry registry) {
+                registry.addInterceptor(concurrencyLimitInterceptor).addPathPatterns("/api/expense-reports/**", "/api/expense-reports", "/api/dashboard");
+            }
+        };
+    }
+
     private static List<String> parseAllowedOrigins(String raw) {
         if (raw == null || raw.isBlank()) return List.of("*");
         return Arrays.stream(raw.split(","))
@@ -0,0 +1,82 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.ConcurrencyLimitInterceptor;
+import com.example.demo.config.InstrumentedDataSource;
+import com.example.demo.config.JwtUtil;
+import com.example.demo.service.PasswordVerifier;
+import com.example.demo.service.ReportEventDispatcher;
+import com.example.demo.service.UserDirectory;
+import com.example.demo.util.AdaptiveConcurrencyLimiter;
+import com.example.demo.util.BoundedTtlCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Tag(name = "Admin", description = "Operational diagnostics (CFO/CEO only)")
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final UserDirectory userDirectory;
+    private final JwtUtil jwtUtil;
+    private final ReportEventDispatcher reportEventDispatcher;
+    private final PasswordVerifier passwordVerifier;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final DataSource dataSource;
+
+    @Operation(summary = "Cache statistics", description = "Hit/miss/eviction counters and sizes of the in-process caches")
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, BoundedTtlCache.Stats>> caches() {
+        Map<String, BoundedTtlCache.Stats> stats = new LinkedHashMap<>(userDirectory.stats());
+        stats.put("verifiedTokens", jwtUtil.cacheStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    @Operation(summary = "Event subscribers", description = "Checkpoint, pending event count and last delivery error per event subscriber")
+    @GetMapping("/events")
+    public ResponseEntity<List<ReportEventDispatcher.SubscriberStatus>> events() {
+        return ResponseEntity.ok(reportEventDispatcher.status());
+    }
+
+    @Operation(summary = "Password hashing pool", description = "Threads, queue depth, rejections and hash latency of the login password-check pool")
+    @GetMapping("/password-hashing")
+    public ResponseEntity<PasswordVerifier.Stats> passwordHashing() {
+        return ResponseEntity.ok(passwordVerifier.stats());
+    }
+
+    @Operation(summary = "Concurrency limits", description = "Current adaptive limit, in-flight requests, shed count and latency averages per expensive endpoint group")
+    @GetMapping("/concurrency-limits")
+    public ResponseEntity<Map<String, AdaptiveConcurrencyLimiter.Stats>> concurrencyLimits() {
+        return ResponseEntity.ok(concurrencyLimitInterceptor.stats());
+    }
+
+    @Operation(summary = "Database statistics", description = "Connection pool counts, connection acquire latency and statement latency histograms per repository method")
+    @GetMapping("/db")
+    public ResponseEntity<InstrumentedDataSource.Stats> db() throws SQLException {
+        InstrumentedDataSource instrumented = instrumentedDataSource();
+        return instrumented != null ? ResponseEntity.ok(instrumented.stats()) : ResponseEntity.notFound().build();
+    }
+
+    @Operation(summary = "Slow queries", description = "Most recent statements slower than app.db.slow-query.threshold, newest first")
+    @GetMapping("/slow-queries")
+    public ResponseEntity<InstrumentedDataSource.SlowQueryLog> slowQueries() throws SQLException {
+        InstrumentedDataSource instrumented = instrumentedDataSource();
+        return instrumented != null ? ResponseEntity.ok(instrumented.slowQueryLog()) : ResponseEntity.notFound().build();
+    }
+
+    // Null when instrumentation is switched off (app.db.instrumentation.enabled=false)
+    private InstrumentedDataSource instrumentedDataSource() throws SQLException {
+        return dataSource.isWrapperFor(InstrumentedDataSource.class) ? dataSource.unwrap(InstrumentedDataSource.class) : null;
+    }
+}
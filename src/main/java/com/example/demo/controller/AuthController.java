@@ -1,52 +1,54 @@
 package com.example.demo.controller;
 
 import com.example.demo.config.JwtUtil;
-import com.example.demo.domain.User;
 import com.example.demo.dto.LoginRequest;
 import com.example.demo.dto.LoginResponse;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PasswordVerifier;
+import com.example.demo.service.UserDirectory;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @Tag(name = "Authentication", description = "JWT authentication — demo password: demo1234")
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final UserRepository userRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final UserDirectory userDirectory;
+    private final PasswordVerifier passwordVerifier;
     private final JwtUtil jwtUtil;
 
-    @Operation(summary = "Login", description = "Login with email + password. Returns JWT. Demo password: demo1234")
+    @Operation(summary = "Login", description = "Login with email + password. Returns JWT. Demo password: demo1234. "
+            + "503 with Retry-After when too many sign-ins are being verified at once.")
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request) {
 
-        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
+        UserDirectory.CachedUser user = userDirectory.findByEmail(request.getEmail()).orElse(null);
 
         // Use generic message to avoid user-enumeration attacks
-        if (user == null) {
-            return ResponseEntity.status(401).body("Invalid email or password");
+        if (user == null || user.passwordHash() == null || request.getPassword() == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).body("Invalid email or password"));
         }
 
-        // Always validate password
-        if (user.getPassword() == null || request.getPassword() == null
-                || !bCryptPasswordEncoder.matches(request.getPassword(), user.getPassword())) {
-            return ResponseEntity.status(401).body("Invalid email or password");
-        }
+        // BCrypt runs on the password-hash pool; the request thread is released while it does.
+        return passwordVerifier.matches(request.getPassword(), user.passwordHash())
+                .thenApply(ok -> ok ? loggedIn(user) : ResponseEntity.status(401).body("Invalid email or password"));
+    }
 
-        String token = jwtUtil.generateToken(user.getId(), user.getName(), user.getEmail(), user.getRole());
+    private ResponseEntity<?> loggedIn(UserDirectory.CachedUser user) {
+        String token = jwtUtil.generateToken(user.id(), user.name(), user.email(), user.role());
 
         LoginResponse response = LoginResponse.builder()
-                .id(user.getId())
-                .name(user.getName())
-                .email(user.getEmail())
-                .role(user.getRole())
+                .id(user.id())
+                .name(user.name())
+                .email(user.email())
+                .role(user.role())
                 .token(token)
                 .build();
 
@@ -0,0 +1,35 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.DashboardResponse;
+import com.example.demo.service.DashboardReadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+@Tag(name = "Dashboard", description = "Composite read model for the dashboard screen")
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardReadService dashboardReadService;
+
+    @Operation(summary = "Get the dashboard", description = "Stats, recent activity, the first page of reports pending the requester's approval "
+            + "(null for employees) and of recent reports, queried concurrently. 503 with Retry-After when the dashboard read pool is saturated.")
+    @GetMapping
+    public CompletableFuture<ResponseEntity<DashboardResponse>> dashboard(
+            @RequestParam Long requesterId,
+            @RequestParam String requesterRole,
+            @RequestParam(required = false, defaultValue = "10") int activityLimit
+    ) {
+        int safeLimit = Math.max(1, Math.min(activityLimit, 50));
+        return dashboardReadService.dashboard(requesterId, requesterRole, safeLimit).thenApply(ResponseEntity::ok);
+    }
+}
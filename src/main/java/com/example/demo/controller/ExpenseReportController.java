@@ -5,19 +5,42 @@ import com.example.demo.dto.ExpenseReportCreateRequest;
 import com.example.demo.dto.ExpenseReportListItemResponse;
 import com.example.demo.dto.ExpenseReportResponse;
 import com.example.demo.dto.ApprovalRequest;
+import com.example.demo.dto.BulkDecisionRequest;
+import com.example.demo.dto.BulkDecisionResponse;
+import com.example.demo.dto.BulkImportResponse;
+import com.example.demo.dto.ExpenseItemCreateRequest;
+import com.example.demo.dto.ExpenseItemPatchRequest;
 import com.example.demo.dto.PageResponse;
+import com.example.demo.service.DashboardReadService;
+import com.example.demo.service.DashboardStatsCache;
+import com.example.demo.service.ExpenseReportBulkDecisionService;
+import com.example.demo.service.ExpenseReportExportService;
+import com.example.demo.service.ExpenseReportImportService;
 import com.example.demo.service.ExpenseReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.demo.dto.AuditLogResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 @Tag(name = "Expense Reports", description = "CRUD and workflow operations for expense reports")
 @RestController
@@ -26,6 +49,14 @@ import java.util.List;
 public class ExpenseReportController {
 
     private final ExpenseReportService expenseReportService;
+    private final ExpenseReportImportService expenseReportImportService;
+    private final ExpenseReportBulkDecisionService expenseReportBulkDecisionService;
+    private final DashboardStatsCache dashboardStatsCache;
+    private final DashboardReadService dashboardReadService;
+    private final ExpenseReportExportService expenseReportExportService;
+
+    // Clients may keep a copy but must revalidate it (If-None-Match) before every use.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
     @Operation(summary = "Create a new expense report", description = "Creates a draft expense report with line items")
     @PostMapping
@@ -34,6 +65,20 @@ public class ExpenseReportController {
         return ResponseEntity.ok(id);
     }
 
+    @Operation(summary = "Bulk import reports", description = "Streams a JSON array or NDJSON of reports (with optional trip fields), "
+            + "validates each record, computes per-diem and inserts drafts with JDBC batches in chunked transactions. Returns per-record results.")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResponse> bulkImport(InputStream body) throws IOException {
+        return ResponseEntity.ok(expenseReportImportService.importReports(body));
+    }
+
+    @Operation(summary = "Bulk approve/reject", description = "Approves or rejects many reports in the approver's queue at once. "
+            + "Eligibility is checked per report; returns per-report outcomes.")
+    @PostMapping("/bulk-decision")
+    public ResponseEntity<BulkDecisionResponse> bulkDecision(@Valid @RequestBody BulkDecisionRequest request) {
+        return ResponseEntity.ok(expenseReportBulkDecisionService.decide(request));
+    }
+
     @Operation(summary = "List reports by submitter", description = "Returns reports for a given submitter, optionally filtered by status. Supports pagination with page/size params.")
     @GetMapping
     public ResponseEntity<?> list(
@@ -62,7 +107,7 @@ public class ExpenseReportController {
 
     @Operation(summary = "List reports pending approval", description = "Returns reports awaiting the given role's approval. Supports pagination with page/size params.")
     @GetMapping("/pending-approval")
-    public ResponseEntity<?> listPendingApproval(
+    public CompletableFuture<ResponseEntity<?>> listPendingApproval(
             @RequestParam String requesterRole,
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false, defaultValue = "10") Integer size
@@ -70,9 +115,9 @@ public class ExpenseReportController {
         int safeSize = clampSize(size);
         if (page != null) {
             int safePage = Math.max(page, 0);
-            return ResponseEntity.ok(expenseReportService.getReportsPendingApprovalPaged(requesterRole, safePage, safeSize));
+            return dashboardReadService.read(() -> ResponseEntity.ok(expenseReportService.getReportsPendingApprovalPaged(requesterRole, safePage, safeSize)));
         }
-        return ResponseEntity.ok(expenseReportService.getReportsPendingApproval(requesterRole));
+        return dashboardReadService.read(() -> ResponseEntity.ok(expenseReportService.getReportsPendingApproval(requesterRole)));
     }
 
     @Operation(summary = "Submit a report for approval", description = "Routes the report into the approval chain or CFO exception review")
@@ -88,6 +133,12 @@ public class ExpenseReportController {
         return ResponseEntity.ok(expenseReportService.getExceptionReview(id));
     }
 
+    @Operation(summary = "Get exception review delta", description = "Warnings added or changed since the previous review round; unchanged ones keep their prior decision")
+    @GetMapping("/{id}/special-review/delta")
+    public ResponseEntity<com.example.demo.dto.SpecialReviewDeltaResponse> getExceptionReviewDelta(@PathVariable Long id) {
+        return ResponseEntity.ok(expenseReportService.getExceptionReviewDelta(id));
+    }
+
     @Operation(summary = "Get submitter feedback", description = "Returns feedback for the submitter after changes are requested")
     @GetMapping("/{id}/submitter-feedback")
     public ResponseEntity<com.example.demo.dto.SubmitterFeedbackResponse> submitterFeedback(
@@ -107,9 +158,10 @@ public class ExpenseReportController {
         return ResponseEntity.ok(st.name());
     }
 
-    @Operation(summary = "Search reports", description = "Full-text search with filters. Employees see only their own reports; managers and above see all. Supports pagination with page/size params.")
+    @Operation(summary = "Search reports", description = "Full-text search with filters. Employees see only their own reports; managers and above see all. Supports pagination with page/size params. "
+            + "Optional facets=status,amount adds per-status and per-amount-bucket counts (implies paged mode).")
     @GetMapping("/search")
-    public ResponseEntity<?> search(
+    public CompletableFuture<ResponseEntity<?>> search(
             @RequestParam Long requesterId,
             @RequestParam String requesterRole,
             @RequestParam(required = false) String q,
@@ -118,44 +170,95 @@ public class ExpenseReportController {
             @RequestParam(required = false) BigDecimal maxTotal,
             @RequestParam(required = false, defaultValue = "activity_desc") String sort,
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false, defaultValue = "10") Integer size
+            @RequestParam(required = false, defaultValue = "10") Integer size,
+            @Parameter(description = "Comma-separated facets to count: status, amount")
+            @RequestParam(required = false) String facets
     ) {
         int safeSize = clampSize(size);
-        if (page != null) {
-            int safePage = Math.max(page, 0);
-            return ResponseEntity.ok(expenseReportService.searchReportsPaged(requesterId, requesterRole, q, status, minTotal, maxTotal, sort, safePage, safeSize));
+        Set<String> facetSet = parseFacets(facets);
+        if (page != null || !facetSet.isEmpty()) {
+            int safePage = page != null ? Math.max(page, 0) : 0;
+            return dashboardReadService.read(() -> ResponseEntity.ok(expenseReportService.searchReportsPaged(requesterId, requesterRole, q, status, minTotal, maxTotal, sort, safePage, safeSize, facetSet)));
         }
-        return ResponseEntity.ok(expenseReportService.searchReports(requesterId, requesterRole, q, status, minTotal, maxTotal, sort));
+        return dashboardReadService.read(() -> ResponseEntity.ok(expenseReportService.searchReports(requesterId, requesterRole, q, status, minTotal, maxTotal, sort)));
+    }
+
+    @Operation(summary = "Export reports", description = "Streams every report matching the search filters, with its line items, "
+            + "as CSV (one row per item) or NDJSON (one report per line) straight from a database cursor. gzip=true returns a .gz file.")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam Long requesterId,
+            @RequestParam String requesterRole,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) BigDecimal minTotal,
+            @RequestParam(required = false) BigDecimal maxTotal,
+            @RequestParam(required = false, defaultValue = "activity_desc") String sort,
+            @Parameter(description = "csv or ndjson")
+            @RequestParam(required = false, defaultValue = "csv") String format,
+            @RequestParam(required = false, defaultValue = "false") boolean gzip,
+            WebRequest request
+    ) {
+        var query = expenseReportExportService.query(requesterId, requesterRole, q, status, minTotal, maxTotal, sort);
+        var export = expenseReportExportService.start(query, ExpenseReportExportService.Format.parse(format), gzip);
+
+        // The body is written on an async thread; give it longer than the default async request timeout.
+        // The slot is released on completion too: after a timeout or error the body may never be written.
+        long timeoutMillis = expenseReportExportService.timeout().toMillis();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor("export", new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                if (asyncRequest instanceof AsyncWebRequest async) async.setTimeout(timeoutMillis);
+            }
+
+            @Override
+            public <T> void afterCompletion(NativeWebRequest asyncRequest, Callable<T> task) {
+                export.release();
+            }
+        });
+        return ResponseEntity.ok()
+                .header("Content-Type", export.contentType())
+                .header("Content-Disposition", "attachment; filename=\"" + export.filename() + "\"")
+                .body(export::writeTo);
     }
 
     @Operation(summary = "Get aggregate statistics", description = "Returns category breakdown, monthly trends, and approval rates for charts")
     @GetMapping("/stats")
-    public ResponseEntity<com.example.demo.dto.StatsResponse> stats() {
-        return ResponseEntity.ok(expenseReportService.getStats());
+    public CompletableFuture<ResponseEntity<com.example.demo.dto.StatsResponse>> stats() {
+        return dashboardReadService.read(() -> ResponseEntity.ok(dashboardStatsCache.get(expenseReportService::getStats)));
     }
 
     @Operation(summary = "Get recent activity", description = "Returns recently updated reports for the dashboard activity feed")
     @GetMapping("/activity")
-    public ResponseEntity<List<com.example.demo.dto.ExpenseReportActivityItem>> activity(
+    public CompletableFuture<ResponseEntity<List<com.example.demo.dto.ExpenseReportActivityItem>>> activity(
             @RequestParam Long requesterId,
             @RequestParam String requesterRole,
             @RequestParam(required = false, defaultValue = "10") int limit
     ) {
         int safeLimit = Math.max(1, Math.min(limit, 50));
-        return ResponseEntity.ok(expenseReportService.getRecentActivity(requesterId, requesterRole, safeLimit));
+        return dashboardReadService.read(() -> ResponseEntity.ok(expenseReportService.getRecentActivity(requesterId, requesterRole, safeLimit)));
     }
 
-    @Operation(summary = "Get audit log", description = "Returns the full change history timeline for a report")
+    @Operation(summary = "Get audit log", description = "Returns the full change history timeline for a report. "
+            + "Sends an ETag; If-None-Match with it returns 304 until a new entry is appended.")
     @GetMapping("/{id}/audit-log")
-    public ResponseEntity<List<AuditLogResponse>> getAuditLog(@PathVariable Long id) {
-        return ResponseEntity.ok(expenseReportService.getAuditLog(id));
+    public ResponseEntity<List<AuditLogResponse>> getAuditLog(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(expenseReportService.getAuditLogEtag(id))) {
+            return null;   // 304; the history is not loaded
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(expenseReportService.getAuditLog(id));
     }
 
-    @Operation(summary = "Get report by ID", description = "Returns full expense report details including line items and approval history")
+    @Operation(summary = "Get report by ID", description = "Returns full expense report details including line items and approval history. "
+            + "Sends an ETag; a matching If-None-Match returns 304 without loading the report.")
     @GetMapping("/{id}")
-    public ResponseEntity<ExpenseReportResponse> getOne(@PathVariable Long id) {
+    public ResponseEntity<ExpenseReportResponse> getOne(@PathVariable Long id, WebRequest request) {
+        // ETag first: a write landing after it makes the body newer than the ETag, never older.
+        if (request.checkNotModified(expenseReportService.getReportEtag(id))) {
+            return null;   // 304; the report is not loaded
+        }
         var result = expenseReportService.getReport(id);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(result);
     }
 
     @Operation(summary = "Update a report", description = "Updates a draft or changes-requested report. Only the owner can update.")
@@ -168,6 +271,37 @@ public class ExpenseReportController {
         return ResponseEntity.ok(st.name());
     }
 
+    @Operation(summary = "Add an item", description = "Adds one line item to a draft or changes-requested report. Returns the new item id.")
+    @PostMapping("/{id}/items")
+    public ResponseEntity<Long> addItem(
+            @PathVariable Long id,
+            @RequestParam Long requesterId,
+            @Valid @RequestBody ExpenseItemCreateRequest req
+    ) {
+        return ResponseEntity.ok(expenseReportService.addItem(id, requesterId, req));
+    }
+
+    @Operation(summary = "Patch an item", description = "Partially updates one line item; omitted fields are left unchanged. The total is adjusted incrementally.")
+    @PatchMapping("/{id}/items/{itemId}")
+    public ResponseEntity<String> patchItem(
+            @PathVariable Long id,
+            @PathVariable Long itemId,
+            @RequestParam Long requesterId,
+            @Valid @RequestBody ExpenseItemPatchRequest req
+    ) {
+        return ResponseEntity.ok(expenseReportService.patchItem(id, itemId, requesterId, req).name());
+    }
+
+    @Operation(summary = "Remove an item", description = "Removes one line item. The last remaining item cannot be removed.")
+    @DeleteMapping("/{id}/items/{itemId}")
+    public ResponseEntity<String> removeItem(
+            @PathVariable Long id,
+            @PathVariable Long itemId,
+            @RequestParam Long requesterId
+    ) {
+        return ResponseEntity.ok(expenseReportService.removeItem(id, itemId, requesterId).name());
+    }
+
     @Operation(summary = "Delete a report", description = "Permanently deletes a report in DRAFT or CHANGES_REQUESTED status")
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(
@@ -209,6 +343,20 @@ public class ExpenseReportController {
         }
     }
 
+    private static Set<String> parseFacets(String facets) {
+        if (facets == null || facets.isBlank()) return Set.of();
+        Set<String> result = new java.util.HashSet<>();
+        for (String f : facets.split(",")) {
+            String name = f.trim().toLowerCase();
+            if (name.isEmpty()) continue;
+            if (!name.equals(ExpenseReportService.FACET_STATUS) && !name.equals(ExpenseReportService.FACET_AMOUNT)) {
+                throw new IllegalArgumentException("Invalid facet: " + f.trim());
+            }
+            result.add(name);
+        }
+        return result;
+    }
+
     private static int clampSize(Integer size) {
         if (size == null || size < 1) return 10;
         return Math.min(size, 100);
@@ -0,0 +1,48 @@
+package com.example.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit entry waiting to be moved into audit_logs by AuditLogFlusher.
+ *
+ * Written in the same transaction as the workflow change, so an entry commits (or rolls back)
+ * together with it. The table has no foreign key and a single index, which keeps the hot-path
+ * insert cheap; ids come from audit_logs_seq so an entry keeps its id when it is moved.
+ */
+@Entity
+@Table(name = "audit_log_outbox", indexes = {
+        @Index(name = "idx_audit_log_outbox_report_id", columnList = "report_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_log_outbox_seq")
+    @SequenceGenerator(name = "audit_log_outbox_seq", sequenceName = "audit_logs_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    private String action;
+
+    private String fromStatus;
+
+    private String toStatus;
+
+    private Long actorId;
+
+    private String actorName;
+
+    @Column(length = 2000)
+    private String comment;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,37 @@
+package com.example.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Delivery position of one ReportEventSubscriber: every event with seq <= lastEventId was handled.
+ * The dispatcher locks this row while delivering, so two instances never deliver to the same
+ * subscriber concurrently. A row of the same shape holds the last seq the dispatcher handed out.
+ */
+@Entity
+@Table(name = "event_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String subscriber;
+
+    @Column(nullable = false)
+    private Long lastEventId;
+
+    private LocalDateTime updatedAt;
+
+    // Consecutive failed deliveries and the latest error, reset on success
+    @Column(nullable = false)
+    private Integer failures;
+
+    @Column(length = 2000)
+    private String lastError;
+}
@@ -2,6 +2,7 @@ package com.example.demo.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -23,15 +24,24 @@ import java.util.List;
 public class ExpenseReport {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_reports_seq")
+    @SequenceGenerator(name = "expense_reports_seq", sequenceName = "expense_reports_seq", allocationSize = 50)
     private Long id;
 
+    // Optimistic lock: every update is "... where id=? and version=?"
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false)
     private String title;              // Report Title
 
     @Column(nullable = false)
     private LocalDateTime createdAt;   // Creation Time
 
+    private LocalDateTime updatedAt;   // Last write to the report or its items
+
     @Column(precision = 12, scale = 2)
     private BigDecimal totalAmount;           // Total Amount
 
@@ -0,0 +1,25 @@
+package com.example.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Shared GCRA state for cluster-wide rate limiting (JdbcRateLimitStore): the theoretical arrival
+ * time of one limiter key, in epoch milliseconds. Rows whose tat has passed are idle and purged.
+ */
+@Entity
+@Table(name = "rate_limit_buckets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateLimitBucket {
+
+    @Id
+    @Column(length = 200)
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private Long tat;
+}
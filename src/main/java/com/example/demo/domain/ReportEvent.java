@@ -0,0 +1,53 @@
+package com.example.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Workflow event, written in the same transaction as the change it describes and delivered to
+ * subscribers by ReportEventDispatcher.
+ *
+ * Ids are an identity column rather than a pooled sequence, so they follow insert order across
+ * instances: an event caused by an earlier, committed one always gets a higher id. Ids still become
+ * visible out of order (a long transaction commits a low id late), so delivery does not use them
+ * directly; the dispatcher stamps each event with seq once it has committed (see ReportEventDispatcher).
+ * Rows are append-only and carry no foreign key, so events outlive deleted reports.
+ */
+@Entity
+@Table(name = "report_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private ReportEventType type;
+
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    private String fromStatus;
+
+    private String toStatus;
+
+    private Long actorId;
+
+    @Column(length = 2000)
+    private String comment;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Delivery position, gap-free in commit order; null until the dispatcher has seen the event
+    @Column(unique = true)
+    private Long seq;
+}
@@ -0,0 +1,34 @@
+package com.example.demo.domain;
+
+/**
+ * Workflow events published through the report_events outbox (see ReportEventDispatcher).
+ */
+public enum ReportEventType {
+
+    REPORT_CREATED,
+    REPORT_UPDATED,          // header or line items changed while editable
+    REPORT_SUBMITTED,        // entered the normal approval chain
+    REPORT_FLAGGED,          // entered CFO/CEO exception review
+    EXCEPTION_APPROVED,
+    EXCEPTION_REJECTED,      // sent back as CHANGES_REQUESTED
+    REPORT_ADVANCED,         // approved by one stage, waiting for the next
+    REPORT_APPROVED,         // final approval
+    REPORT_REJECTED,
+    REPORT_DELETED;
+
+    /** Event for an audit action; approvals are ADVANCED or APPROVED depending on where they lead. */
+    public static ReportEventType forAuditAction(String action, String toStatus) {
+        return switch (action) {
+            case "CREATED" -> REPORT_CREATED;
+            case "UPDATED", "ITEM_ADDED", "ITEM_UPDATED", "ITEM_REMOVED" -> REPORT_UPDATED;
+            case "SUBMITTED" -> REPORT_SUBMITTED;
+            case "SUBMITTED_FOR_REVIEW" -> REPORT_FLAGGED;
+            case "EXCEPTION_APPROVED" -> EXCEPTION_APPROVED;
+            case "EXCEPTION_REJECTED" -> EXCEPTION_REJECTED;
+            case "MANAGER_APPROVED", "CFO_APPROVED", "CEO_APPROVED" ->
+                    ExpenseReportStatus.APPROVED.name().equals(toStatus) ? REPORT_APPROVED : REPORT_ADVANCED;
+            case "REJECTED" -> REPORT_REJECTED;
+            default -> throw new IllegalArgumentException("No event for audit action: " + action);
+        };
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -19,7 +20,8 @@ import java.util.List;
 public class SpecialReview {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "special_reviews_seq")
+    @SequenceGenerator(name = "special_reviews_seq", sequenceName = "special_reviews_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -36,6 +38,16 @@ public class SpecialReview {
 
     private String reviewerComment; // global comment on approve/reject
 
+    // 1 on first submission, +1 on every resubmission after changes were requested
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer reviewRound = 1;
+
+    // Warning codes dropped by the latest resubmission (comma-separated)
+    @Column(length = 2000)
+    private String removedCodes;
+
     @OneToMany(mappedBy = "review", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<SpecialReviewItem> items = new ArrayList<>();
@@ -2,6 +2,7 @@ package com.example.demo.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "special_review_items")
@@ -13,7 +14,8 @@ import lombok.*;
 public class SpecialReviewItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "special_review_items_seq")
+    @SequenceGenerator(name = "special_review_items_seq", sequenceName = "special_review_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -22,6 +24,8 @@ public class SpecialReviewItem {
     private String code;    // stable code for UI highlight
     private String message; // human readable
 
+    private String evidence; // PolicyEngine.Warning#evidence at the time of the last (re)submission
+
     @Column(length = 2000)
     private String employeeReason;
 
@@ -30,4 +34,15 @@ public class SpecialReviewItem {
 
     @Column(length = 2000)
     private String financeReason;
+
+    // Review rounds in which this row was inserted / last changed (see SpecialReview.reviewRound)
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer addedInRound = 1;
+
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer changedInRound = 1;
 }
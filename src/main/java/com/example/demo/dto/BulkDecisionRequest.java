@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkDecisionRequest {
+
+    @NotNull
+    private Long approverId;
+
+    @NotBlank
+    @Pattern(regexp = "(?i)APPROVE|REJECT", message = "must be APPROVE or REJECT")
+    private String decision;
+
+    private String comment;
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<Long> reportIds;
+}
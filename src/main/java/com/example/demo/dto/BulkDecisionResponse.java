@@ -0,0 +1,33 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDecisionResponse {
+    private int total;
+    private int decided;
+    private int failed;
+    private List<ReportResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ReportResult {
+        private Long reportId;
+        private String status;      // DECIDED / FAILED
+        private String fromStatus;  // set when DECIDED
+        private String toStatus;    // set when DECIDED
+        private String error;       // set when FAILED
+    }
+}
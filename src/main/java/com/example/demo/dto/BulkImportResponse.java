@@ -0,0 +1,32 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResponse {
+    private int total;
+    private int imported;
+    private int failed;
+    private List<RecordResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RecordResult {
+        private int index;        // 0-based position in the input stream
+        private String status;    // IMPORTED / FAILED
+        private Long reportId;    // set when IMPORTED
+        private String error;     // set when FAILED
+    }
+}
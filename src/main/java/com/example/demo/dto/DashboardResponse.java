@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Everything the dashboard screen shows, gathered concurrently in one request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardResponse {
+    private StatsResponse stats;
+    private List<ExpenseReportActivityItem> activity;
+    private PageResponse<ExpenseReportListItemResponse> pendingApproval;
+    private PageResponse<ExpenseReportListItemResponse> recentReports;
+}
@@ -8,6 +8,9 @@ import java.time.LocalDate;
 
 @Data
 public class ExpenseItemCreateRequest {
+    // Optional: on report updates, an existing item id merges into that row instead of inserting a new one
+    private Long id;
+
     @NotNull
     private LocalDate date;
 
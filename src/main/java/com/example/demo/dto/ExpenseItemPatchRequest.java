@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Partial update of a single line item; null fields are left unchanged.
+ */
+@Data
+public class ExpenseItemPatchRequest {
+    private LocalDate date;
+
+    @Size(min = 1, max = 500)
+    private String description;
+
+    @Positive(message = "Amount must be greater than 0")
+    @DecimalMax(value = "999999.99", message = "Amount cannot exceed $999,999.99")
+    private BigDecimal amount;
+
+    @Size(min = 1)
+    private String category;
+}
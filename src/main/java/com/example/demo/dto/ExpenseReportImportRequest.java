@@ -0,0 +1,32 @@
+package com.example.demo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One record of a bulk import (JSON array element or NDJSON line).
+ * Unlike the create request it carries trip fields so per-diem can be computed on import.
+ */
+@Data
+public class ExpenseReportImportRequest {
+
+    @NotNull
+    private Long submitterId;
+
+    @NotBlank
+    private String title;
+
+    private String destination;
+    private LocalDate departureDate;
+    private LocalDate returnDate;
+
+    @NotEmpty
+    @Valid
+    private List<ExpenseItemCreateRequest> items;
+}
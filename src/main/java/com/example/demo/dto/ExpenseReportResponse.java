@@ -17,6 +17,7 @@ public class ExpenseReportResponse {
     private String title;
     private BigDecimal totalAmount;
     private String status;
+    private Long version;
 
     private String destination;
     private LocalDate departureDate;
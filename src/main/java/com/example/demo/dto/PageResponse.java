@@ -1,5 +1,6 @@
 package com.example.demo.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,4 +18,8 @@ public class PageResponse<T> {
     private int size;
     private long totalElements;
     private int totalPages;
+
+    // Only set by search when facets were requested
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SearchFacetsResponse facets;
 }
@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchFacetsResponse {
+    private Map<String, Long> status;  // status name → count (only statuses present in the result set)
+    private Map<String, Long> amount;  // amount bucket ("0-100", "100-500", ...) → count, every bucket listed
+}
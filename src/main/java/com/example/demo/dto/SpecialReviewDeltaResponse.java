@@ -0,0 +1,24 @@
+package com.example.demo.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * What changed in an exception review since the previous round, so the reviewer only
+ * re-decides new and changed warnings. Unchanged warnings keep their prior decision.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SpecialReviewDeltaResponse {
+    private Long reviewId;
+    private int round;
+    private String status;
+    private List<SpecialReviewItemResponse> added;
+    private List<SpecialReviewItemResponse> changed;
+    private List<String> unchangedCodes;
+    private List<String> removedCodes;
+}
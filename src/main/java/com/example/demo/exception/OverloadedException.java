@@ -0,0 +1,19 @@
+package com.example.demo.exception;
+
+/**
+ * A bounded resource is saturated and the request was shed instead of queued.
+ * Mapped to 503 with a Retry-After header by GlobalExceptionHandler.
+ */
+public class OverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.AuditLogOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface AuditLogOutboxRepository extends JpaRepository<AuditLogOutbox, Long> {
+    List<AuditLogOutbox> findByReportIdOrderByIdAsc(Long reportId);
+
+    long countByReportId(Long reportId);
+
+    @Query("select max(a.id) from AuditLogOutbox a where a.reportId = :reportId")
+    Long findMaxIdByReportId(@Param("reportId") Long reportId);
+}
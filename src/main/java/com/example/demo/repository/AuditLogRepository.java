@@ -2,9 +2,16 @@ package com.example.demo.repository;
 
 import com.example.demo.domain.AuditLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByReportIdOrderByCreatedAtAsc(Long reportId);
+
+    long countByReportId(Long reportId);
+
+    @Query("select max(a.id) from AuditLog a where a.report.id = :reportId")
+    Long findMaxIdByReportId(@Param("reportId") Long reportId);
 }
@@ -5,11 +5,14 @@ import com.example.demo.domain.ExpenseReportStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ExpenseReportRepository extends JpaRepository<ExpenseReport, Long> {
 
@@ -57,6 +60,58 @@ public interface ExpenseReportRepository extends JpaRepository<ExpenseReport, Lo
             Pageable pageable
     );
 
+    /** Same filters as {@link #searchPaged} but without the count query (totals come from {@link #searchFacets}). */
+    @Query("""
+        select r from ExpenseReport r
+        where (:submitterId is null or r.submitter.id = :submitterId)
+          and (:q is null or :q = '' or lower(r.title) like lower(concat('%', :q, '%')))
+          and (:status is null or r.status = :status)
+          and (:minTotal is null or r.totalAmount >= :minTotal)
+          and (:maxTotal is null or r.totalAmount <= :maxTotal)
+    """)
+    List<ExpenseReport> searchSlice(
+            @Param("submitterId") Long submitterId,
+            @Param("q") String q,
+            @Param("status") ExpenseReportStatus status,
+            @Param("minTotal") BigDecimal minTotal,
+            @Param("maxTotal") BigDecimal maxTotal,
+            Pageable pageable
+    );
+
+    /**
+     * Facet counts for the search filters in a single grouped query.
+     * Each row is [status, amountBucket, inAmountRange (1/0), count]; bucket labels must match
+     * ExpenseReportService.AMOUNT_BUCKETS.
+     *
+     * The status and amount filters are not applied here, so each facet can be counted without its own
+     * filter (drill-down): the status facet honours only the amount range, the amount facet only the status.
+     */
+    @Query("""
+        select r.status as status,
+               case when r.totalAmount is null or r.totalAmount < 100 then '0-100'
+                    when r.totalAmount < 500 then '100-500'
+                    when r.totalAmount < 1000 then '500-1000'
+                    when r.totalAmount < 5000 then '1000-5000'
+                    else '5000+' end as bucket,
+               case when (:minTotal is null or r.totalAmount >= :minTotal)
+                     and (:maxTotal is null or r.totalAmount <= :maxTotal) then 1 else 0 end as inRange,
+               count(r)
+        from ExpenseReport r
+        where (:submitterId is null or r.submitter.id = :submitterId)
+          and (:q is null or :q = '' or lower(r.title) like lower(concat('%', :q, '%')))
+        group by status, bucket, inRange
+    """)
+    List<Object[]> searchFacets(
+            @Param("submitterId") Long submitterId,
+            @Param("q") String q,
+            @Param("minTotal") BigDecimal minTotal,
+            @Param("maxTotal") BigDecimal maxTotal
+    );
+
+    /** Each row is [status, count]. */
+    @Query("select r.status, count(r) from ExpenseReport r group by r.status")
+    List<Object[]> countByStatus();
+
     @Query("""
         select r from ExpenseReport r
         where (:submitterId is null or r.submitter.id = :submitterId)
@@ -64,7 +119,36 @@ public interface ExpenseReportRepository extends JpaRepository<ExpenseReport, Lo
     """)
     List<ExpenseReport> recentActivity(@Param("submitterId") Long submitterId);
 
+    /**
+     * Decision candidates for bulk approve/reject without loading entities.
+     * Each row is [id, status, version, submitterId].
+     */
+    @Query("select r.id, r.status, r.version, r.submitter.id from ExpenseReport r where r.id in :ids")
+    List<Object[]> findDecisionCandidates(@Param("ids") Collection<Long> ids);
+
+    /** Version only, for conditional GETs (no entity, items or submitter loaded). */
+    interface VersionView {
+        Long getVersion();
+    }
+
+    Optional<VersionView> findVersionById(Long id);
+
     /** Fetches all reports with items and submitter in a single query (avoids N+1 in stats). */
     @Query("select distinct r from ExpenseReport r left join fetch r.items left join fetch r.submitter")
     List<ExpenseReport> findAllWithItems();
+
+    /**
+     * Compare-and-set guard for workflow transitions: matches only if the row still has the status and
+     * version the caller loaded. The no-op assignment takes the row lock without bumping the version,
+     * so the caller's versioned entity update still applies; a concurrent claimer waits for that commit
+     * and then matches 0 rows.
+     */
+    @Modifying
+    @Query("""
+            update ExpenseReport r set r.status = :status
+            where r.id = :id and r.status = :status and r.version = :version
+            """)
+    int claimTransition(@Param("id") Long id,
+                        @Param("status") ExpenseReportStatus status,
+                        @Param("version") Long version);
 }
@@ -0,0 +1,95 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write-behind worker for the audit trail.
+ *
+ * Workflow transactions only append to audit_log_outbox; this worker moves committed entries into
+ * audit_logs in batches (one INSERT ... SELECT plus one DELETE per batch, in a single transaction).
+ * Nothing is lost on a crash: entries stay in the outbox until the transaction that copies them
+ * commits, and are picked up again after a restart.
+ *
+ * Entries whose report was deleted in the meantime are dropped instead of violating the FK.
+ * Each batch is claimed with FOR UPDATE SKIP LOCKED, so flushers on several instances split the
+ * outbox between them.
+ */
+@Component
+public class AuditLogFlusher {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogFlusher.class);
+
+    // Locks the batch; rows another flusher (another instance) has claimed are skipped, not copied twice
+    private static final String SELECT_BATCH = "select id from audit_log_outbox order by id limit ? for update skip locked";
+    private static final String COPY_BATCH = """
+            insert into audit_logs (id, report_id, action, from_status, to_status, actor_id, actor_name, comment, created_at)
+            select o.id, o.report_id, o.action, o.from_status, o.to_status, o.actor_id, o.actor_name, o.comment, o.created_at
+            from audit_log_outbox o
+            where o.id in (:ids) and exists (select 1 from expense_reports r where r.id = o.report_id)
+            """;
+    private static final String DELETE_BATCH = "delete from audit_log_outbox where id in (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public AuditLogFlusher(JdbcTemplate jdbcTemplate,
+                           NamedParameterJdbcTemplate namedJdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.audit.flush-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.flush-interval-ms:500}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            // Entries stay in the outbox; the next run retries them.
+            log.warn("Audit outbox flush failed: {}", e.getMessage());
+        }
+    }
+
+    private record Batch(int taken, int copied) {}
+
+    /** Drains the outbox; returns the number of entries moved into audit_logs. */
+    public int flush() {
+        int moved = 0;
+        Batch batch;
+        do {
+            batch = transactionTemplate.execute(tx -> moveBatch());
+            moved += batch.copied();
+        } while (batch.taken() == batchSize);
+        return moved;
+    }
+
+    private Batch moveBatch() {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH, Long.class, batchSize);
+        if (ids.isEmpty()) return new Batch(0, 0);
+        Map<String, List<Long>> params = Map.of("ids", ids);
+        int copied = namedJdbcTemplate.update(COPY_BATCH, params);
+        namedJdbcTemplate.update(DELETE_BATCH, params);
+        return new Batch(ids.size(), copied);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        scheduledFlush();
+    }
+}
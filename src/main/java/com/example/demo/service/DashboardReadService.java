@@ -0,0 +1,103 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DashboardResponse;
+import com.example.demo.dto.ExpenseReportListItemResponse;
+import com.example.demo.dto.PageResponse;
+import com.example.demo.exception.OverloadedException;
+import com.example.demo.util.RequestTimings;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the dashboard reads (stats, activity, pending approvals, search) off the request threads.
+ *
+ * The handler returns a CompletableFuture and the servlet thread goes back to Tomcat while the query
+ * runs on a small dedicated pool, so dashboard traffic cannot tie up the threads approval writes need.
+ * The pool stays below the connection pool size and has a short queue; when both are full the read is
+ * refused at once with OverloadedException (503 + Retry-After).
+ *
+ * Each read runs in its own read-only transaction: there is no open-in-view session on these threads.
+ */
+@Service
+public class DashboardReadService {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final ExpenseReportService expenseReportService;
+    private final DashboardStatsCache dashboardStatsCache;
+    private final TransactionTemplate readOnly;
+    private final ThreadPoolExecutor executor;
+
+    public DashboardReadService(ExpenseReportService expenseReportService,
+                                DashboardStatsCache dashboardStatsCache,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.dashboard.read-threads:6}") int threads,
+                                @Value("${app.dashboard.read-queue:64}") int queueCapacity) {
+        this.expenseReportService = expenseReportService;
+        this.dashboardStatsCache = dashboardStatsCache;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "dashboard-read-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs query in a read-only transaction on the read pool; throws OverloadedException when saturated.
+     * The caller's request timings stay bound, so the query's statements show up in its Server-Timing.
+     */
+    public <T> CompletableFuture<T> read(Supplier<T> query) {
+        RequestTimings timings = RequestTimings.current();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                RequestTimings previous = RequestTimings.bind(timings);
+                try {
+                    return readOnly.execute(tx -> query.get());
+                } finally {
+                    RequestTimings.restore(previous);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            throw new OverloadedException("Too many dashboard queries in progress. Please retry shortly.", 1);
+        }
+    }
+
+    /**
+     * Stats, recent activity, the first page of pending approvals (approvers only, otherwise null) and
+     * of recent reports, fetched concurrently.
+     */
+    public CompletableFuture<DashboardResponse> dashboard(Long requesterId, String requesterRole, int activityLimit) {
+        var stats = read(() -> dashboardStatsCache.get(expenseReportService::getStats));
+        var activity = read(() -> expenseReportService.getRecentActivity(requesterId, requesterRole, activityLimit));
+        var pending = "EMPLOYEE".equalsIgnoreCase(requesterRole)
+                ? CompletableFuture.<PageResponse<ExpenseReportListItemResponse>>completedFuture(null)
+                : read(() -> expenseReportService.getReportsPendingApprovalPaged(requesterRole, 0, PAGE_SIZE));
+        var recent = read(() -> expenseReportService.searchReportsPaged(
+                requesterId, requesterRole, null, null, null, null, "activity_desc", 0, PAGE_SIZE));
+        return CompletableFuture.allOf(stats, activity, pending, recent)
+                .thenApply(done -> DashboardResponse.builder()
+                        .stats(stats.join())
+                        .activity(activity.join())
+                        .pendingApproval(pending.join())
+                        .recentReports(recent.join())
+                        .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.ReportEvent;
+import com.example.demo.dto.StatsResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Caches the dashboard statistics (which aggregate every report and item) until the next workflow
+ * event arrives. Fed by ReportEventDispatcher as a node-local subscriber, so every instance clears its
+ * own copy; the numbers can trail a change by one dispatch interval.
+ */
+@Component
+public class DashboardStatsCache implements ReportEventSubscriber {
+
+    private record Snapshot(long generation, StatsResponse stats) {}
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    @Override
+    public String name() {
+        return "dashboard-stats";
+    }
+
+    @Override
+    public boolean nodeLocal() {
+        return true;
+    }
+
+    @Override
+    public void onEvent(ReportEvent event) {
+        clear();
+    }
+
+    public StatsResponse get(Supplier<StatsResponse> compute) {
+        long gen = generation.get();
+        Snapshot snapshot = current.get();
+        if (snapshot != null && snapshot.generation() == gen) {
+            return snapshot.stats();
+        }
+        StatsResponse stats = compute.get();
+        // Only keep it if no event arrived while computing; otherwise it may already be stale.
+        if (generation.get() == gen) {
+            current.compareAndSet(snapshot, new Snapshot(gen, stats));
+        }
+        return stats;
+    }
+
+    /** For changes that bypass the event stream (demo reset); repeated after the transaction completes. */
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        current.set(null);
+    }
+}
@@ -24,19 +24,25 @@ public class DemoDataService {
     private final com.example.demo.repository.SpecialReviewItemRepository specialReviewItemRepository;
     private final com.example.demo.repository.SpecialReviewRepository specialReviewRepository;
     private final AuditLogRepository auditLogRepository;
+    private final com.example.demo.repository.AuditLogOutboxRepository auditLogOutboxRepository;
     private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
+    private final DashboardStatsCache dashboardStatsCache;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
 
     @Transactional
     public void resetAndSeed() {
         // IMPORTANT (Postgres): bulk deletes do NOT trigger JPA cascades.
         // Delete child tables first to avoid FK constraint violations.
+        auditLogOutboxRepository.deleteAllInBatch();
         auditLogRepository.deleteAllInBatch();
         expenseItemRepository.deleteAllInBatch();
         specialReviewItemRepository.deleteAllInBatch();
         specialReviewRepository.deleteAllInBatch();
         expenseReportRepository.deleteAllInBatch();
         userRepository.deleteAllInBatch();
+        userDirectory.invalidateAll();
+        dashboardStatsCache.invalidate();
 
         // users — all share demo password "demo1234"
         String demoHash = bCryptPasswordEncoder.encode("demo1234");
@@ -0,0 +1,235 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.AuditLogOutbox;
+import com.example.demo.domain.ExpenseReportStatus;
+import com.example.demo.domain.ReportEventType;
+import com.example.demo.domain.UserRole;
+import com.example.demo.dto.BulkDecisionRequest;
+import com.example.demo.dto.BulkDecisionResponse;
+import com.example.demo.repository.ExpenseReportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Month-end queue clearing: approve or reject many reports for one approver in a single transaction.
+ *
+ * One query loads [id, status, version, submitter] for every requested id, eligibility is checked in
+ * memory, the transitions go out as one JDBC batch of compare-and-set updates on the version column
+ * and the audit entries as one batch into the outbox.
+ * A report that fails a check or loses the CAS is reported as FAILED; the others still go through.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseReportBulkDecisionService {
+
+    static final String DECIDED = "DECIDED";
+    static final String FAILED = "FAILED";
+
+    // The status was checked against the same-version snapshot, and every status change bumps the
+    // version, so the version alone is the CAS. Adding "and status = ?" makes H2 pick the (unselective)
+    // status index over the primary key and turns each update into a range scan.
+    private static final String CAS_WHERE = " where id = ? and version = ?";
+    private static final String ADVANCE =
+            "update expense_reports set status = ?, updated_at = ?, version = version + 1" + CAS_WHERE;
+    private static final String FINAL_APPROVE =
+            "update expense_reports set status = ?, updated_at = ?, version = version + 1, approver_id = ?, approved_at = ?, approval_comment = ?" + CAS_WHERE;
+    private static final String REJECT =
+            "update expense_reports set status = ?, updated_at = ?, version = version + 1, approver_id = ?, rejected_at = ?, approval_comment = ?" + CAS_WHERE;
+    private static final String INSERT_AUDIT =
+            "insert into audit_log_outbox (id, report_id, action, from_status, to_status, actor_id, actor_name, comment, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ExpenseReportRepository expenseReportRepository;
+    private final UserDirectory userDirectory;
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final ReportEventPublisher reportEventPublisher;
+
+    private record Transition(Long reportId, ExpenseReportStatus from, long version,
+                              ExpenseReportStatus to, String action) {}
+
+    @Transactional
+    public BulkDecisionResponse decide(BulkDecisionRequest req) {
+        UserDirectory.CachedUser approver = userDirectory.findById(req.getApproverId())
+                .orElseThrow(() -> new IllegalArgumentException("Approver not found: " + req.getApproverId()));
+        UserRole role = parseApproverRole(approver.role());
+        boolean approve = req.getDecision().trim().equalsIgnoreCase("APPROVE");
+
+        // Distinct ids, in request order
+        List<Long> ids = req.getReportIds().stream().filter(Objects::nonNull).distinct().toList();
+
+        Map<Long, Object[]> candidates = new HashMap<>();
+        for (Object[] row : expenseReportRepository.findDecisionCandidates(ids)) {
+            candidates.put((Long) row[0], row);
+        }
+
+        Map<Long, BulkDecisionResponse.ReportResult> results = new LinkedHashMap<>();
+        List<Transition> transitions = new ArrayList<>();
+        for (Long id : ids) {
+            Object[] row = candidates.get(id);
+            if (row == null) {
+                results.put(id, failed(id, "Report not found: " + id));
+                continue;
+            }
+            ExpenseReportStatus status = (ExpenseReportStatus) row[1];
+            Long version = (Long) row[2];
+            Long submitterId = (Long) row[3];
+
+            if (Objects.equals(submitterId, approver.id())) {
+                results.put(id, failed(id, "You cannot approve/reject your own report."));
+                continue;
+            }
+            if (!isQueueOf(role, status)) {
+                results.put(id, failed(id, "Report is in " + status + ", not in the " + role + " queue."));
+                continue;
+            }
+            results.put(id, null);
+            transitions.add(approve ? approval(id, status, version, role) : rejection(id, status, version));
+        }
+
+        if (!transitions.isEmpty()) {
+            apply(transitions, approver, role, approve, req.getComment(), results);
+        }
+
+        List<BulkDecisionResponse.ReportResult> out = new ArrayList<>(results.values());
+        int decided = (int) out.stream().filter(r -> DECIDED.equals(r.getStatus())).count();
+        return BulkDecisionResponse.builder()
+                .total(out.size())
+                .decided(decided)
+                .failed(out.size() - decided)
+                .results(out)
+                .build();
+    }
+
+    private void apply(List<Transition> transitions, UserDirectory.CachedUser approver, UserRole role, boolean approve, String comment,
+                       Map<Long, BulkDecisionResponse.ReportResult> results) {
+        // Database precision, so the re-check in confirmWritten can compare it
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        // Manager approval only advances the stage; final approval and rejection record the approver.
+        boolean recordsApprover = !approve || role != UserRole.MANAGER;
+        String sql = !approve ? REJECT : recordsApprover ? FINAL_APPROVE : ADVANCE;
+
+        int[][] counts = jdbcTemplate.batchUpdate(sql, transitions, transitions.size(), (ps, t) -> {
+            int i = 1;
+            ps.setString(i++, t.to().name());
+            ps.setObject(i++, now);
+            if (recordsApprover) {
+                ps.setLong(i++, approver.id());
+                ps.setObject(i++, now);
+                ps.setString(i++, comment);
+            }
+            ps.setLong(i++, t.reportId());
+            ps.setLong(i, t.version());
+        });
+
+        List<Transition> unknown = new ArrayList<>();
+        for (int k = 0; k < transitions.size(); k++) {
+            if (counts[0][k] == Statement.SUCCESS_NO_INFO) unknown.add(transitions.get(k));
+        }
+        Set<Long> confirmed = unknown.isEmpty() ? Set.of() : confirmWritten(unknown, now);
+
+        List<Transition> applied = new ArrayList<>(transitions.size());
+        for (int k = 0; k < transitions.size(); k++) {
+            Transition t = transitions.get(k);
+            int count = counts[0][k];
+            if (count == 1 || (count == Statement.SUCCESS_NO_INFO && confirmed.contains(t.reportId()))) {
+                applied.add(t);
+                results.put(t.reportId(), BulkDecisionResponse.ReportResult.builder()
+                        .reportId(t.reportId())
+                        .status(DECIDED)
+                        .fromStatus(t.from().name())
+                        .toStatus(t.to().name())
+                        .build());
+            } else {
+                results.put(t.reportId(), failed(t.reportId(), "Report was changed by another request. Reload and try again."));
+            }
+        }
+        if (applied.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_AUDIT, applied, applied.size(), (ps, t) -> {
+            ps.setLong(1, sequenceIdAllocator.next(AuditLogOutbox.class));
+            ps.setLong(2, t.reportId());
+            ps.setString(3, t.action());
+            ps.setString(4, t.from().name());
+            ps.setString(5, t.to().name());
+            ps.setLong(6, approver.id());
+            ps.setString(7, approver.name());
+            ps.setString(8, comment);
+            ps.setObject(9, now);
+        });
+        reportEventPublisher.publishAll(applied.stream()
+                .map(t -> ReportEventPublisher.event(ReportEventType.forAuditAction(t.action(), t.to().name()),
+                        t.reportId(), t.from().name(), t.to().name(), approver.id(), comment, now))
+                .toList());
+    }
+
+    /**
+     * Drivers may answer a batch with SUCCESS_NO_INFO, which says nothing about whether the CAS matched.
+     * One read settles it for all of them: a row this transaction updated is still locked by it and
+     * carries the next version and this call's timestamp; a row another request changed carries that
+     * request's timestamp, even if it made the same transition.
+     */
+    private Set<Long> confirmWritten(List<Transition> unknown, LocalDateTime now) {
+        Map<Long, Long> expectedVersion = new HashMap<>();
+        unknown.forEach(t -> expectedVersion.put(t.reportId(), t.version() + 1));
+        String in = String.join(", ", Collections.nCopies(unknown.size(), "?"));
+        Set<Long> written = new HashSet<>();
+        jdbcTemplate.query("select id, version, updated_at from expense_reports where id in (" + in + ")", rs -> {
+            long id = rs.getLong(1);
+            if (rs.getLong(2) == expectedVersion.get(id) && now.equals(rs.getObject(3, LocalDateTime.class))) {
+                written.add(id);
+            }
+        }, expectedVersion.keySet().toArray());
+        return written;
+    }
+
+    // Same routing as ExpenseReportService.approveReport
+    private static Transition approval(Long id, ExpenseReportStatus from, long version, UserRole role) {
+        return switch (role) {
+            case MANAGER -> new Transition(id, from, version, ExpenseReportStatus.CFO_REVIEW, "MANAGER_APPROVED");
+            case CFO -> new Transition(id, from, version, ExpenseReportStatus.APPROVED, "CFO_APPROVED");
+            case CEO -> new Transition(id, from, version, ExpenseReportStatus.APPROVED, "CEO_APPROVED");
+            case EMPLOYEE -> throw new IllegalStateException("Employees cannot approve reports.");
+        };
+    }
+
+    private static Transition rejection(Long id, ExpenseReportStatus from, long version) {
+        return new Transition(id, from, version, ExpenseReportStatus.REJECTED, "REJECTED");
+    }
+
+    private static boolean isQueueOf(UserRole role, ExpenseReportStatus status) {
+        return switch (role) {
+            case MANAGER -> status == ExpenseReportStatus.MANAGER_REVIEW || status == ExpenseReportStatus.SUBMITTED /* legacy */;
+            case CFO -> status == ExpenseReportStatus.CFO_REVIEW;
+            case CEO -> status == ExpenseReportStatus.CEO_REVIEW;
+            case EMPLOYEE -> false;
+        };
+    }
+
+    private static UserRole parseApproverRole(String rawRole) {
+        UserRole role;
+        try {
+            role = UserRole.valueOf(rawRole == null ? "" : rawRole.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown role: " + rawRole);
+        }
+        if (role == UserRole.EMPLOYEE) {
+            throw new IllegalStateException("Only MANAGER/CFO/CEO can decide reports.");
+        }
+        return role;
+    }
+
+    private static BulkDecisionResponse.ReportResult failed(Long reportId, String error) {
+        return BulkDecisionResponse.ReportResult.builder()
+                .reportId(reportId)
+                .status(FAILED)
+                .error(error)
+                .build();
+    }
+}
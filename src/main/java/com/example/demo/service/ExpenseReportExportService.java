@@ -0,0 +1,357 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.ExpenseReportStatus;
+import com.example.demo.domain.UserRole;
+import com.example.demo.exception.OverloadedException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full exports of the search results (same filters and scoping as /search), one line per line item.
+ *
+ * Rows come from a single forward-only JDBC query (reports left-joined to their items and submitter)
+ * read with a fetch size inside a read-only transaction, which PostgreSQL turns into a server-side
+ * cursor, and are written to the response as they arrive. No entities or lists are built, so memory
+ * stays flat however many rows are exported.
+ *
+ * - csv:    one row per item; a report without items gets one row with empty item columns
+ * - ndjson: one object per report with its items nested (rows of a report are adjacent in the cursor)
+ *
+ * Every export holds a pooled connection until the client has read the last row, so only a few may
+ * run at once; the rest are refused with OverloadedException (503 + Retry-After).
+ */
+@Service
+public class ExpenseReportExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() { return contentType; }
+        public String extension() { return extension; }
+
+        public static Format parse(String format) {
+            if (format == null || format.isBlank()) return CSV;
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export format: " + format + " (csv or ndjson)");
+            }
+        }
+    }
+
+    static final String[] CSV_HEADER = {
+            "report_id", "title", "status", "submitter_id", "submitter_name", "created_at", "approved_at", "rejected_at",
+            "total_amount", "destination", "departure_date", "return_date", "per_diem_amount",
+            "item_id", "item_date", "item_description", "item_amount", "item_category"
+    };
+
+    private static final String SELECT = """
+            select r.id, r.title, r.status, u.id, u.name, r.created_at, r.approved_at, r.rejected_at,
+                   r.total_amount, r.destination, r.departure_date, r.return_date, r.per_diem_amount,
+                   i.id, i.date, i.description, i.amount, i.category
+            from expense_reports r
+            join users u on u.id = r.submitter_id
+            left join expense_items i on i.expense_report_id = r.id
+            """;
+
+    private final JdbcTemplate cursor;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper objectMapper;
+    private final Semaphore running;
+    private final Duration timeout;
+
+    public ExpenseReportExportService(DataSource dataSource,
+                                      PlatformTransactionManager transactionManager,
+                                      ObjectMapper objectMapper,
+                                      @Value("${app.export.fetch-size:500}") int fetchSize,
+                                      @Value("${app.export.max-concurrent:2}") int maxConcurrent,
+                                      @Value("${app.export.timeout:30m}") Duration timeout) {
+        this.cursor = new JdbcTemplate(dataSource);
+        this.cursor.setFetchSize(fetchSize);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.running = new Semaphore(Math.max(1, maxConcurrent));
+        this.timeout = timeout;
+    }
+
+    /** How long one export may stream; far beyond the default async request timeout. */
+    public Duration timeout() {
+        return timeout;
+    }
+
+    /** Filters of one export, validated up front so a bad request fails before the response starts. */
+    public record Query(Long submitterId, String q, ExpenseReportStatus status,
+                        BigDecimal minTotal, BigDecimal maxTotal, String sort) {}
+
+    /**
+     * Builds the query with the same scoping as searchReports: approvers see every report, anyone
+     * else only their own.
+     */
+    public Query query(Long requesterId, String requesterRole, String q, String status,
+                       BigDecimal minTotal, BigDecimal maxTotal, String sort) {
+        if (requesterRole == null || requesterRole.isBlank()) {
+            throw new IllegalArgumentException("Role is required");
+        }
+        UserRole role;
+        try {
+            role = UserRole.valueOf(requesterRole.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown role: " + requesterRole);
+        }
+        boolean approver = role == UserRole.MANAGER || role == UserRole.CFO || role == UserRole.CEO;
+        ExpenseReportStatus st = status == null || status.isBlank() ? null : ExpenseReportStatus.valueOf(status.trim().toUpperCase());
+        return new Query(approver ? null : requesterId, q, st, minTotal, maxTotal, sort);
+    }
+
+    /**
+     * Reserves one of the export slots; the returned export releases it when it has been written
+     * (or has failed). Throws OverloadedException when every slot is taken.
+     *
+     * writeTo may never run (the async request times out or fails before its task starts), so the
+     * caller must also call release() once the request completes.
+     */
+    public Export start(Query query, Format format, boolean gzip) {
+        if (!running.tryAcquire()) {
+            throw new OverloadedException("Too many exports in progress. Please retry in a minute.", 30);
+        }
+        return new Export(query, format, gzip);
+    }
+
+    public class Export {
+        private final Query query;
+        private final Format format;
+        private final boolean gzip;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Export(Query query, Format format, boolean gzip) {
+            this.query = query;
+            this.format = format;
+            this.gzip = gzip;
+        }
+
+        public String contentType() {
+            return gzip ? "application/gzip" : format.contentType() + ";charset=UTF-8";
+        }
+
+        public String filename() {
+            return "expense-reports." + format.extension() + (gzip ? ".gz" : "");
+        }
+
+        /** Streams every matching row to out and releases the export slot. */
+        public void writeTo(OutputStream out) throws IOException {
+            try {
+                if (gzip) {
+                    GZIPOutputStream zipped = new GZIPOutputStream(out, 64 * 1024);
+                    write(query, format, zipped);
+                    zipped.finish();
+                } else {
+                    write(query, format, out);
+                }
+            } finally {
+                release();
+            }
+        }
+
+        /** Frees the export slot; only the first call counts. */
+        public void release() {
+            if (released.compareAndSet(false, true)) running.release();
+        }
+    }
+
+    /** Writes the export to out without closing it. */
+    void write(Query query, Format format, OutputStream out) throws IOException {
+        List<Object> args = new ArrayList<>();
+        String sql = sql(query, args);
+        RowWriter writer = format == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(objectMapper, out);
+        try {
+            readOnly.executeWithoutResult(tx -> cursor.query(sql, (RowCallbackHandler) rs -> {
+                try {
+                    writer.row(rs);
+                } catch (IOException e) {
+                    // Client went away: abort the query instead of reading the rest of the cursor
+                    throw new UncheckedIOException(e);
+                }
+            }, args.toArray()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+    }
+
+    // Only the filters actually given end up in the SQL, so every parameter has a known type.
+    private static String sql(Query query, List<Object> args) {
+        StringBuilder sql = new StringBuilder(SELECT).append("where 1 = 1\n");
+        if (query.submitterId() != null) {
+            sql.append("  and r.submitter_id = ?\n");
+            args.add(query.submitterId());
+        }
+        if (query.q() != null && !query.q().isBlank()) {
+            sql.append("  and lower(r.title) like ?\n");
+            args.add("%" + query.q().toLowerCase(Locale.ROOT) + "%");
+        }
+        if (query.status() != null) {
+            sql.append("  and r.status = ?\n");
+            args.add(query.status().name());
+        }
+        if (query.minTotal() != null) {
+            sql.append("  and r.total_amount >= ?\n");
+            args.add(query.minTotal());
+        }
+        if (query.maxTotal() != null) {
+            sql.append("  and r.total_amount <= ?\n");
+            args.add(query.maxTotal());
+        }
+        // Same orderings as search; r.id keeps the rows of one report together
+        String order = switch (query.sort() != null ? query.sort() : "activity_desc") {
+            case "total_desc" -> "r.total_amount desc nulls last, ";
+            case "total_asc" -> "r.total_amount asc nulls first, ";
+            default -> "coalesce(r.approved_at, r.created_at) desc, ";
+        };
+        return sql.append("order by ").append(order).append("r.id, i.id").toString();
+    }
+
+    private interface RowWriter {
+        void row(ResultSet rs) throws SQLException, IOException;
+        void finish() throws IOException;
+    }
+
+    private static final class CsvWriter implements RowWriter {
+        private final Writer out;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            line(CSV_HEADER);
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int col = 1; col <= CSV_HEADER.length; col++) {
+                if (col > 1) out.write(',');
+                Object value = rs.getObject(col);
+                if (value != null) out.write(cell(value));
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private void line(String[] cells) throws IOException {
+            out.write(String.join(",", cells));
+            out.write("\r\n");
+        }
+
+        static String cell(Object value) {
+            if (value instanceof BigDecimal amount) return amount.toPlainString();
+            if (value instanceof Timestamp ts) return ts.toLocalDateTime().toString();
+            if (value instanceof Date date) return date.toLocalDate().toString();
+            if (!(value instanceof String text)) return value.toString();
+            // Spreadsheets evaluate cells starting with these as formulas
+            if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) text = "'" + text;
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static final class NdjsonWriter implements RowWriter {
+        private final JsonGenerator json;
+        private long reportId = -1;
+
+        NdjsonWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(new BufferedOutputStream(out, 64 * 1024));
+            this.json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            this.json.setRootValueSeparator(null);   // endReport writes the newline
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            long id = rs.getLong(1);
+            if (id != reportId) {
+                endReport();
+                reportId = id;
+                json.writeStartObject();
+                json.writeNumberField("id", id);
+                json.writeStringField("title", rs.getString(2));
+                json.writeStringField("status", rs.getString(3));
+                json.writeNumberField("submitterId", rs.getLong(4));
+                json.writeStringField("submitterName", rs.getString(5));
+                writeValue("createdAt", rs.getObject(6));
+                writeValue("approvedAt", rs.getObject(7));
+                writeValue("rejectedAt", rs.getObject(8));
+                writeValue("totalAmount", rs.getBigDecimal(9));
+                json.writeStringField("destination", rs.getString(10));
+                writeValue("departureDate", rs.getObject(11));
+                writeValue("returnDate", rs.getObject(12));
+                writeValue("perDiemAmount", rs.getBigDecimal(13));
+                json.writeArrayFieldStart("items");
+            }
+            if (rs.getObject(14) != null) {
+                json.writeStartObject();
+                json.writeNumberField("id", rs.getLong(14));
+                writeValue("date", rs.getObject(15));
+                json.writeStringField("description", rs.getString(16));
+                writeValue("amount", rs.getBigDecimal(17));
+                json.writeStringField("category", rs.getString(18));
+                json.writeEndObject();
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            endReport();
+            json.flush();
+        }
+
+        private void endReport() throws IOException {
+            if (reportId < 0) return;
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        private void writeValue(String field, Object value) throws IOException {
+            json.writeFieldName(field);
+            if (value == null) json.writeNull();
+            else if (value instanceof BigDecimal amount) json.writeNumber(amount);
+            else if (value instanceof Timestamp ts) json.writeString(ts.toLocalDateTime().toString());
+            else if (value instanceof Date date) json.writeString(date.toLocalDate().toString());
+            else json.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.AuditLogOutbox;
+import com.example.demo.domain.ExpenseItem;
+import com.example.demo.domain.ExpenseReport;
+import com.example.demo.domain.ExpenseReportStatus;
+import com.example.demo.domain.ReportEventType;
+import com.example.demo.domain.User;
+import com.example.demo.dto.BulkImportResponse;
+import com.example.demo.dto.ExpenseReportImportRequest;
+import com.example.demo.repository.UserRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import for nightly migrations from the legacy system.
+ *
+ * The request body (JSON array or NDJSON) is parsed one record at a time, so memory is bounded by
+ * the chunk size rather than the payload. Each chunk is inserted with JDBC batches (reports, then
+ * items, then audit outbox rows) in its own transaction; a failing chunk rolls back alone and its
+ * records are reported as failed, while the rest of the import carries on.
+ *
+ * Ids are drawn from the entities' own sequences in pooled blocks (see SequenceIdAllocator), so
+ * imported rows can never collide with ids Hibernate hands out for regular inserts.
+ */
+@Service
+public class ExpenseReportImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseReportImportService.class);
+
+    static final String IMPORTED = "IMPORTED";
+    static final String FAILED = "FAILED";
+
+    private static final String INSERT_REPORT = """
+            insert into expense_reports (id, version, title, created_at, total_amount, status, destination, departure_date, return_date,
+                                         per_diem_amount, per_diem_rate, per_diem_days, submitter_id, updated_at)
+            values (?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_ITEM =
+            "insert into expense_items (id, date, description, amount, category, expense_report_id) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_AUDIT =
+            "insert into audit_log_outbox (id, report_id, action, from_status, to_status, actor_id, actor_name, comment, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final ReportEventPublisher reportEventPublisher;
+    private final int chunkSize;
+
+    public ExpenseReportImportService(ObjectMapper objectMapper,
+                                      Validator validator,
+                                      JdbcTemplate jdbcTemplate,
+                                      SequenceIdAllocator sequenceIdAllocator,
+                                      PlatformTransactionManager transactionManager,
+                                      UserRepository userRepository,
+                                      ReportEventPublisher reportEventPublisher,
+                                      @Value("${app.import.chunk-size:500}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.reportEventPublisher = reportEventPublisher;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    private record PendingReport(int index, Long submitterId, ExpenseReport report) {}
+
+    public BulkImportResponse importReports(InputStream body) throws IOException {
+        List<BulkImportResponse.RecordResult> results = new ArrayList<>();
+        List<PendingReport> chunk = new ArrayList<>(chunkSize);
+        Map<Long, User> submitters = new HashMap<>();
+
+        int index = 0;
+        // readValues() walks NDJSON root values and unwraps a top-level JSON array alike.
+        try (MappingIterator<ExpenseReportImportRequest> it =
+                     objectMapper.readerFor(ExpenseReportImportRequest.class).readValues(body)) {
+            while (true) {
+                ExpenseReportImportRequest req;
+                try {
+                    if (!it.hasNextValue()) break;
+                    req = it.nextValue();
+                } catch (IOException e) {
+                    // The parser position is unreliable after a syntax/mapping error, so stop here.
+                    results.add(failed(index, "Malformed record, import stopped: " + e.getMessage()));
+                    break;
+                }
+
+                try {
+                    chunk.add(new PendingReport(index, req.getSubmitterId(), toReport(req)));
+                } catch (IllegalArgumentException e) {
+                    results.add(failed(index, e.getMessage()));
+                }
+                index++;
+
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, submitters, results);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, submitters, results);
+        }
+
+        results.sort(Comparator.comparingInt(BulkImportResponse.RecordResult::getIndex));
+        int imported = (int) results.stream().filter(r -> IMPORTED.equals(r.getStatus())).count();
+        return BulkImportResponse.builder()
+                .total(results.size())
+                .imported(imported)
+                .failed(results.size() - imported)
+                .results(results)
+                .build();
+    }
+
+    /** Validates one record and builds the (unsaved) draft with totals and per-diem computed. */
+    private ExpenseReport toReport(ExpenseReportImportRequest req) {
+        if (req == null) {
+            throw new IllegalArgumentException("Record is empty.");
+        }
+        Set<ConstraintViolation<ExpenseReportImportRequest>> violations = validator.validate(req);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        ExpenseReport report = ExpenseReport.builder()
+                .title(req.getTitle())
+                .destination(req.getDestination())
+                .departureDate(req.getDepartureDate())
+                .returnDate(req.getReturnDate())
+                .status(ExpenseReportStatus.DRAFT)
+                .build();
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (var itemReq : req.getItems()) {
+            if (itemReq == null) continue;
+            report.getItems().add(ExpenseItem.builder()
+                    .date(itemReq.getDate())
+                    .description(itemReq.getDescription())
+                    .amount(itemReq.getAmount())
+                    .category(itemReq.getCategory())
+                    .expenseReport(report)
+                    .build());
+            total = total.add(itemReq.getAmount());
+        }
+
+        ExpenseReportService.validateNoDuplicateMealDates(report.getItems());
+        ExpenseReportService.computePerDiem(report);
+        report.setTotalAmount(total.add(report.getPerDiemAmount()));
+        return report;
+    }
+
+    private void flush(List<PendingReport> chunk, Map<Long, User> submitters, List<BulkImportResponse.RecordResult> results) {
+        // Resolve submitters not seen in earlier chunks with a single query.
+        Set<Long> unknown = chunk.stream()
+                .map(PendingReport::submitterId)
+                .filter(id -> !submitters.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!unknown.isEmpty()) {
+            userRepository.findAllById(unknown).forEach(u -> submitters.put(u.getId(), u));
+        }
+
+        List<PendingReport> ready = new ArrayList<>(chunk.size());
+        for (PendingReport p : chunk) {
+            Long submitterId = p.submitterId();
+            User submitter = submitters.get(submitterId);
+            if (submitter == null) {
+                results.add(failed(p.index(), "User not found: " + submitterId));
+                continue;
+            }
+            p.report().setSubmitter(submitter);
+            ready.add(p);
+        }
+        if (ready.isEmpty()) return;
+
+        try {
+            List<Long> ids = transactionTemplate.execute(tx -> insertChunk(ready));
+            for (int i = 0; i < ready.size(); i++) {
+                results.add(BulkImportResponse.RecordResult.builder()
+                        .index(ready.get(i).index())
+                        .status(IMPORTED)
+                        .reportId(ids.get(i))
+                        .build());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Bulk import chunk of {} records rolled back", ready.size(), e);
+            String msg = "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (PendingReport p : ready) {
+                results.add(failed(p.index(), msg));
+            }
+        }
+    }
+
+    private List<Long> insertChunk(List<PendingReport> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(chunk.size());
+        for (PendingReport p : chunk) {
+            ExpenseReport r = p.report();
+            r.setId(sequenceIdAllocator.next(ExpenseReport.class));
+            r.getItems().forEach(it -> it.setId(sequenceIdAllocator.next(ExpenseItem.class)));
+            ids.add(r.getId());
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_REPORT, chunk, chunk.size(), (ps, p) -> {
+            ExpenseReport r = p.report();
+            ps.setLong(1, r.getId());
+            ps.setString(2, r.getTitle());
+            ps.setObject(3, now);
+            ps.setBigDecimal(4, r.getTotalAmount());
+            ps.setString(5, r.getStatus().name());
+            ps.setString(6, r.getDestination());
+            ps.setObject(7, r.getDepartureDate(), Types.DATE);
+            ps.setObject(8, r.getReturnDate(), Types.DATE);
+            ps.setBigDecimal(9, r.getPerDiemAmount());
+            ps.setBigDecimal(10, r.getPerDiemRate());
+            ps.setObject(11, r.getPerDiemDays(), Types.INTEGER);
+            ps.setLong(12, r.getSubmitter().getId());
+            ps.setObject(13, now);
+        });
+
+        List<ExpenseItem> items = chunk.stream().flatMap(p -> p.report().getItems().stream()).toList();
+        jdbcTemplate.batchUpdate(INSERT_ITEM, items, items.size(), (ps, it) -> {
+            ps.setLong(1, it.getId());
+            ps.setObject(2, it.getDate());
+            ps.setString(3, it.getDescription());
+            ps.setBigDecimal(4, it.getAmount());
+            ps.setString(5, it.getCategory());
+            ps.setLong(6, it.getExpenseReport().getId());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_AUDIT, chunk, chunk.size(), (ps, p) -> {
+            ExpenseReport r = p.report();
+            ps.setLong(1, sequenceIdAllocator.next(AuditLogOutbox.class));
+            ps.setLong(2, r.getId());
+            ps.setString(3, "CREATED");
+            ps.setString(4, null);
+            ps.setString(5, ExpenseReportStatus.DRAFT.name());
+            ps.setLong(6, r.getSubmitter().getId());
+            ps.setString(7, r.getSubmitter().getName());
+            ps.setString(8, "Bulk import");
+            ps.setObject(9, now);
+        });
+
+        reportEventPublisher.publishAll(chunk.stream()
+                .map(p -> ReportEventPublisher.event(ReportEventType.REPORT_CREATED, p.report().getId(), null,
+                        ExpenseReportStatus.DRAFT.name(), p.report().getSubmitter().getId(), "Bulk import", now))
+                .toList());
+
+        return ids;
+    }
+
+    private static BulkImportResponse.RecordResult failed(int index, String error) {
+        return BulkImportResponse.RecordResult.builder()
+                .index(index)
+                .status(FAILED)
+                .error(error)
+                .build();
+    }
+}
@@ -3,12 +3,15 @@ package com.example.demo.service;
 import com.example.demo.config.BusinessConstants;
 import com.example.demo.domain.*;
 import com.example.demo.dto.*;
+import com.example.demo.repository.AuditLogOutboxRepository;
 import com.example.demo.repository.AuditLogRepository;
+import com.example.demo.repository.ExpenseItemRepository;
 import com.example.demo.repository.ExpenseReportRepository;
 import com.example.demo.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -18,8 +21,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -27,14 +33,26 @@ public class ExpenseReportService {
 
     private static final Logger log = LoggerFactory.getLogger(ExpenseReportService.class);
 
+    // Search facets (see ExpenseReportRepository.searchFacets for the bucket boundaries)
+    public static final String FACET_STATUS = "status";
+    public static final String FACET_AMOUNT = "amount";
+    public static final List<String> AMOUNT_BUCKETS = List.of("0-100", "100-500", "500-1000", "1000-5000", "5000+");
+
     private final ExpenseReportRepository expenseReportRepository;
     private final com.example.demo.repository.SpecialReviewRepository specialReviewRepository;
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogOutboxRepository auditLogOutboxRepository;
     private final UserRepository userRepository;
+    private final ExpenseItemRepository expenseItemRepository;
+    private final UserDirectory userDirectory;
+    private final ReportEventPublisher reportEventPublisher;
 
+    // Appends to the outbox in the caller's transaction; AuditLogFlusher moves entries into audit_logs.
+    // Every write to a report is audited, so this is also where updatedAt (and with it the version) moves.
     private void logAudit(ExpenseReport report, String action, String fromStatus, String toStatus, Long actorId, String actorName, String comment) {
-        auditLogRepository.save(AuditLog.builder()
-                .report(report)
+        report.setUpdatedAt(LocalDateTime.now());
+        auditLogOutboxRepository.save(AuditLogOutbox.builder()
+                .reportId(report.getId())
                 .action(action)
                 .fromStatus(fromStatus)
                 .toStatus(toStatus)
@@ -43,20 +61,73 @@ public class ExpenseReportService {
                 .comment(comment)
                 .createdAt(LocalDateTime.now())
                 .build());
+        reportEventPublisher.publish(ReportEventType.forAuditAction(action, toStatus), report.getId(),
+                fromStatus, toStatus, actorId, comment);
     }
 
+    /**
+     * ETag for getReport without loading the report: every write bumps the version (logAudit touches
+     * updatedAt, the bulk paths bump it in SQL), so the version identifies the representation.
+     *
+     * The tags are weak: the same state is served as JSON, Smile or CBOR, gzipped or not, and Tomcat
+     * will not compress a response carrying a strong ETag. There is no Last-Modified: at one-second
+     * resolution two edits within the same second would answer If-Modified-Since with a stale 304.
+     */
+    public String getReportEtag(Long id) {
+        var v = expenseReportRepository.findVersionById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Report not found: " + id));
+        return "W/\"r" + id + "-v" + v.getVersion() + "\"";
+    }
+
+    /**
+     * ETag for getAuditLog. The log is append-only, so an entry added anywhere raises the combined
+     * count, and an entry moving from the outbox to audit_logs keeps its id and changes neither value.
+     */
+    public String getAuditLogEtag(Long reportId) {
+        long count = auditLogOutboxRepository.countByReportId(reportId) + auditLogRepository.countByReportId(reportId);
+        long maxId = Math.max(
+                Objects.requireNonNullElse(auditLogOutboxRepository.findMaxIdByReportId(reportId), 0L),
+                Objects.requireNonNullElse(auditLogRepository.findMaxIdByReportId(reportId), 0L));
+        return "W/\"a" + reportId + "-" + maxId + "-" + count + "\"";
+    }
+
+    /**
+     * Flushed entries plus those still waiting in the outbox, so callers always see their own writes.
+     *
+     * The outbox is read first: an entry moved between the two queries then shows up in both
+     * (it keeps its id, so it is de-duplicated) rather than in neither.
+     */
     public List<AuditLogResponse> getAuditLog(Long reportId) {
-        return auditLogRepository.findByReportIdOrderByCreatedAtAsc(reportId).stream()
-                .map(log -> AuditLogResponse.builder()
-                        .id(log.getId())
-                        .action(log.getAction())
-                        .fromStatus(log.getFromStatus())
-                        .toStatus(log.getToStatus())
-                        .actorId(log.getActorId())
-                        .actorName(log.getActorName())
-                        .comment(log.getComment())
-                        .createdAt(log.getCreatedAt())
-                        .build())
+        var entries = new java.util.LinkedHashMap<Long, AuditLogResponse>();
+        List<AuditLogOutbox> pending = auditLogOutboxRepository.findByReportIdOrderByIdAsc(reportId);
+        for (AuditLog log : auditLogRepository.findByReportIdOrderByCreatedAtAsc(reportId)) {
+            entries.put(log.getId(), AuditLogResponse.builder()
+                    .id(log.getId())
+                    .action(log.getAction())
+                    .fromStatus(log.getFromStatus())
+                    .toStatus(log.getToStatus())
+                    .actorId(log.getActorId())
+                    .actorName(log.getActorName())
+                    .comment(log.getComment())
+                    .createdAt(log.getCreatedAt())
+                    .build());
+        }
+        for (AuditLogOutbox log : pending) {
+            entries.putIfAbsent(log.getId(), AuditLogResponse.builder()
+                    .id(log.getId())
+                    .action(log.getAction())
+                    .fromStatus(log.getFromStatus())
+                    .toStatus(log.getToStatus())
+                    .actorId(log.getActorId())
+                    .actorName(log.getActorName())
+                    .comment(log.getComment())
+                    .createdAt(log.getCreatedAt())
+                    .build());
+        }
+        return entries.values().stream()
+                .sorted(java.util.Comparator.comparing(AuditLogResponse::getCreatedAt,
+                                java.util.Comparator.nullsFirst(java.util.Comparator.naturalOrder()))
+                        .thenComparing(AuditLogResponse::getId))
                 .toList();
     }
 
@@ -71,7 +142,7 @@ public class ExpenseReportService {
         }
     }
 
-    private void validateNoDuplicateMealDates(List<ExpenseItem> items) {
+    static void validateNoDuplicateMealDates(List<ExpenseItem> items) {
         if (items == null || items.isEmpty()) return;
         var seen = new java.util.HashMap<java.time.LocalDate, Integer>();
 
@@ -92,14 +163,14 @@ public class ExpenseReportService {
         }
     }
 
-    private boolean isDomestic(String destination) {
+    private static boolean isDomestic(String destination) {
         if (destination == null) return true;
         String lower = destination.toLowerCase();
         return lower.contains("united states") || lower.endsWith(", us")
                 || !lower.contains(","); // no country separator → assume domestic
     }
 
-    private void computePerDiem(ExpenseReport report) {
+    static void computePerDiem(ExpenseReport report) {
         if (report.getDepartureDate() == null || report.getReturnDate() == null) {
             report.setPerDiemDays(0);
             report.setPerDiemRate(BigDecimal.ZERO);
@@ -125,14 +196,14 @@ public class ExpenseReportService {
     public Long createReport(ExpenseReportCreateRequest request) {
 
         // 1) submitterId로 User 찾아오기
-        User submitter = userRepository.findById(request.getSubmitterId())
+        UserDirectory.CachedUser submitter = userDirectory.findById(request.getSubmitterId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + request.getSubmitterId()));
 
         // 2) 보고서 객체 생성
         ExpenseReport report = ExpenseReport.builder()
                 .title(request.getTitle())
                 .createdAt(LocalDateTime.now())
-                .submitter(submitter)
+                .submitter(userRepository.getReferenceById(submitter.id()))
                 .build();
 
         report.setStatus(ExpenseReportStatus.DRAFT);
@@ -172,7 +243,7 @@ public class ExpenseReportService {
         // 4) 저장 (cascade = ALL 덕분에 item들도 같이 저장됨)
         ExpenseReport saved = expenseReportRepository.save(report);
 
-        logAudit(saved, "CREATED", null, "DRAFT", submitter.getId(), submitter.getName(), null);
+        logAudit(saved, "CREATED", null, "DRAFT", submitter.id(), submitter.name(), null);
 
         return saved.getId();
     }
@@ -229,6 +300,18 @@ public class ExpenseReportService {
     }
 
     public PageResponse<ExpenseReportListItemResponse> searchReportsPaged(Long requesterId, String requesterRole, String q, String status, BigDecimal minTotal, BigDecimal maxTotal, String sort, int page, int size) {
+        return searchReportsPaged(requesterId, requesterRole, q, status, minTotal, maxTotal, sort, page, size, Set.of());
+    }
+
+    /**
+     * Paged search with optional facet counts ("status", "amount").
+     *
+     * When facets are requested the page is fetched without a count query and the
+     * total is derived from the grouped facet query, so the whole screen costs two round trips.
+     * Facets are drill-down counts: the status facet ignores the status filter and the amount facet
+     * ignores the min/max filter, so the other choices stay visible once one is picked.
+     */
+    public PageResponse<ExpenseReportListItemResponse> searchReportsPaged(Long requesterId, String requesterRole, String q, String status, BigDecimal minTotal, BigDecimal maxTotal, String sort, int page, int size, Set<String> facets) {
         UserRole role = parseRole(requesterRole);
         boolean approver = role == UserRole.MANAGER || role == UserRole.CFO || role == UserRole.CEO;
         Long submitterId = approver ? null : requesterId;
@@ -244,8 +327,39 @@ public class ExpenseReportService {
             default -> Sort.by(Sort.Direction.DESC, "createdAt");
         };
 
-        var result = expenseReportRepository.searchPaged(submitterId, q, st, minTotal, maxTotal, PageRequest.of(page, size, jpaSort));
-        return toPageResponse(result, result.getContent().stream().map(this::toListItem).toList());
+        PageRequest pageable = PageRequest.of(page, size, jpaSort);
+        if (facets == null || facets.isEmpty()) {
+            var result = expenseReportRepository.searchPaged(submitterId, q, st, minTotal, maxTotal, pageable);
+            return toPageResponse(result, result.getContent().stream().map(this::toListItem).toList());
+        }
+
+        var content = expenseReportRepository.searchSlice(submitterId, q, st, minTotal, maxTotal, pageable);
+        var rows = expenseReportRepository.searchFacets(submitterId, q, minTotal, maxTotal);
+
+        var statusCounts = new java.util.LinkedHashMap<String, Long>();
+        var amountCounts = new java.util.LinkedHashMap<String, Long>();
+        AMOUNT_BUCKETS.forEach(b -> amountCounts.put(b, 0L));
+        long total = 0;
+        for (Object[] row : rows) {
+            boolean statusMatches = st == null || row[0] == st;
+            boolean inRange = ((Number) row[2]).intValue() == 1;
+            long count = ((Number) row[3]).longValue();
+            if (inRange) statusCounts.merge(((ExpenseReportStatus) row[0]).name(), count, Long::sum);
+            if (statusMatches) amountCounts.merge((String) row[1], count, Long::sum);
+            if (inRange && statusMatches) total += count;
+        }
+
+        return PageResponse.<ExpenseReportListItemResponse>builder()
+                .content(content.stream().map(this::toListItem).toList())
+                .page(page)
+                .size(size)
+                .totalElements(total)
+                .totalPages((int) ((total + size - 1) / size))
+                .facets(SearchFacetsResponse.builder()
+                        .status(facets.contains(FACET_STATUS) ? statusCounts : null)
+                        .amount(facets.contains(FACET_AMOUNT) ? amountCounts : null)
+                        .build())
+                .build();
     }
 
     // --- Stats ---
@@ -351,6 +465,7 @@ public class ExpenseReportService {
                 .title(r.getTitle())
                 .totalAmount(r.getTotalAmount())
                 .status(r.getStatus().name())
+                .version(r.getVersion())
                 .destination(r.getDestination())
                 .departureDate(r.getDepartureDate())
                 .returnDate(r.getReturnDate())
@@ -539,6 +654,9 @@ public class ExpenseReportService {
      * Update a report.
      *
      * Allowed only for the submitter when the report is in DRAFT or CHANGES_REQUESTED.
+     * Items are merged by id: rows whose id is sent are updated in place (Hibernate only writes
+     * the ones that actually changed), rows without an id are inserted and rows left out are deleted.
+     * Keeping item ids stable also keeps item-scoped warning codes (e.g. HOTEL_ABOVE_CAP#123) stable.
      */
     @Transactional
     public ExpenseReportStatus updateReport(Long reportId, com.example.demo.dto.ExpenseReportUpdateRequest req) {
@@ -549,29 +667,33 @@ public class ExpenseReportService {
             throw new IllegalArgumentException("submitterId is required");
         }
 
-        if (report.getSubmitter() == null || !report.getSubmitter().getId().equals(req.getSubmitterId())) {
-            throw new IllegalStateException("Only the submitter can update this report.");
-        }
-
-        if (report.getStatus() != ExpenseReportStatus.DRAFT && report.getStatus() != ExpenseReportStatus.CHANGES_REQUESTED) {
-            throw new IllegalStateException("Only DRAFT/CHANGES_REQUESTED reports can be updated.");
-        }
+        requireEditable(report, req.getSubmitterId());
 
         if (req.getTitle() != null) report.setTitle(req.getTitle());
         report.setDestination(req.getDestination());
         report.setDepartureDate(req.getDepartureDate());
         report.setReturnDate(req.getReturnDate());
 
-        // Replace items
         if (req.getItems() == null || req.getItems().isEmpty()) {
             throw new IllegalArgumentException("At least one item is required.");
         }
 
-        report.getItems().clear();
+        // Merge items by id
+        var existing = new java.util.HashMap<Long, ExpenseItem>();
+        for (ExpenseItem it : report.getItems()) {
+            if (it.getId() != null) existing.put(it.getId(), it);
+        }
+
         BigDecimal total = BigDecimal.ZERO;
-        if (req.getItems() != null) {
-            for (var itemReq : req.getItems()) {
-                if (itemReq == null) continue;
+        for (var itemReq : req.getItems()) {
+            if (itemReq == null) continue;
+            if (itemReq.getId() != null) {
+                ExpenseItem item = existing.remove(itemReq.getId());
+                if (item == null) {
+                    throw new IllegalArgumentException("Unknown or duplicate item id for this report: " + itemReq.getId());
+                }
+                applyItemFields(item, itemReq.getDate(), itemReq.getDescription(), itemReq.getAmount(), itemReq.getCategory());
+            } else {
                 ExpenseItem item = ExpenseItem.builder()
                         .date(itemReq.getDate())
                         .description(itemReq.getDescription())
@@ -580,9 +702,12 @@ public class ExpenseReportService {
                         .build();
                 item.setExpenseReport(report);
                 report.getItems().add(item);
-                total = total.add(itemReq.getAmount() != null ? itemReq.getAmount() : BigDecimal.ZERO);
             }
+            total = total.add(itemReq.getAmount() != null ? itemReq.getAmount() : BigDecimal.ZERO);
         }
+        // Items not mentioned in the request are removed (orphanRemoval deletes the rows)
+        report.getItems().removeAll(existing.values());
+
         // Compute per-diem and add to total
         computePerDiem(report);
         report.setTotalAmount(total.add(report.getPerDiemAmount() != null ? report.getPerDiemAmount() : BigDecimal.ZERO));
@@ -592,13 +717,134 @@ public class ExpenseReportService {
 
         expenseReportRepository.save(report);
 
-        User submitter = report.getSubmitter();
+        UserDirectory.CachedUser submitter = submitterOf(report);
         logAudit(report, "UPDATED", report.getStatus().name(), report.getStatus().name(),
-                submitter.getId(), submitter.getName(), null);
+                submitter.id(), submitter.name(), null);
+
+        return report.getStatus();
+    }
+
+    /**
+     * Add a single line item. Per-diem does not depend on items, so only the total is adjusted.
+     */
+    @Transactional
+    public Long addItem(Long reportId, Long requesterId, ExpenseItemCreateRequest req) {
+        ExpenseReport report = expenseReportRepository.findById(reportId)
+                .orElseThrow(() -> new IllegalArgumentException("Report not found: " + reportId));
+        requireEditable(report, requesterId);
+
+        ExpenseItem item = ExpenseItem.builder()
+                .date(req.getDate())
+                .description(req.getDescription())
+                .amount(req.getAmount())
+                .category(req.getCategory())
+                .expenseReport(report)
+                .build();
+        report.getItems().add(item);
+        validateNoDuplicateMealDates(report.getItems());
+
+        adjustTotal(report, item.getAmount());
+        ExpenseItem saved = expenseItemRepository.save(item);
+
+        UserDirectory.CachedUser submitter = submitterOf(report);
+        logAudit(report, "ITEM_ADDED", report.getStatus().name(), report.getStatus().name(),
+                submitter.id(), submitter.name(), "Item #" + saved.getId());
+        return saved.getId();
+    }
 
+    /**
+     * Partially update a single line item; null fields are left unchanged.
+     */
+    @Transactional
+    public ExpenseReportStatus patchItem(Long reportId, Long itemId, Long requesterId, ExpenseItemPatchRequest req) {
+        ExpenseReport report = expenseReportRepository.findById(reportId)
+                .orElseThrow(() -> new IllegalArgumentException("Report not found: " + reportId));
+        requireEditable(report, requesterId);
+        ExpenseItem item = findItem(report, itemId);
+
+        BigDecimal before = item.getAmount() != null ? item.getAmount() : BigDecimal.ZERO;
+        applyItemFields(item, req.getDate(), req.getDescription(), req.getAmount(), req.getCategory());
+        validateNoDuplicateMealDates(report.getItems());
+
+        BigDecimal after = item.getAmount() != null ? item.getAmount() : BigDecimal.ZERO;
+        adjustTotal(report, after.subtract(before));
+
+        UserDirectory.CachedUser submitter = submitterOf(report);
+        logAudit(report, "ITEM_UPDATED", report.getStatus().name(), report.getStatus().name(),
+                submitter.id(), submitter.name(), "Item #" + itemId);
         return report.getStatus();
     }
 
+    @Transactional
+    public ExpenseReportStatus removeItem(Long reportId, Long itemId, Long requesterId) {
+        ExpenseReport report = expenseReportRepository.findById(reportId)
+                .orElseThrow(() -> new IllegalArgumentException("Report not found: " + reportId));
+        requireEditable(report, requesterId);
+        ExpenseItem item = findItem(report, itemId);
+
+        if (report.getItems().size() <= 1) {
+            throw new IllegalArgumentException("At least one item is required.");
+        }
+        report.getItems().remove(item);
+        adjustTotal(report, (item.getAmount() != null ? item.getAmount() : BigDecimal.ZERO).negate());
+
+        UserDirectory.CachedUser submitter = submitterOf(report);
+        logAudit(report, "ITEM_REMOVED", report.getStatus().name(), report.getStatus().name(),
+                submitter.id(), submitter.name(), "Item #" + itemId);
+        return report.getStatus();
+    }
+
+    /**
+     * Fails fast if another request already moved the report on since it was loaded. The entity's
+     * @Version check at flush remains the final guarantee; this just rejects the loser before it
+     * does any further work.
+     */
+    private void claimTransition(ExpenseReport report) {
+        if (expenseReportRepository.claimTransition(report.getId(), report.getStatus(), report.getVersion()) == 0) {
+            throw new OptimisticLockingFailureException(
+                    "Report " + report.getId() + " was changed by another request. Reload and try again.");
+        }
+    }
+
+    // Reads the submitter's name/role from the directory; getId() on the lazy proxy does not load the row.
+    private UserDirectory.CachedUser submitterOf(ExpenseReport report) {
+        Long id = report.getSubmitter().getId();
+        return userDirectory.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Submitter not found: " + id));
+    }
+
+    private void requireEditable(ExpenseReport report, Long requesterId) {
+        if (requesterId == null) {
+            throw new IllegalArgumentException("submitterId is required");
+        }
+        if (report.getSubmitter() == null || !report.getSubmitter().getId().equals(requesterId)) {
+            throw new IllegalStateException("Only the submitter can update this report.");
+        }
+        if (report.getStatus() != ExpenseReportStatus.DRAFT && report.getStatus() != ExpenseReportStatus.CHANGES_REQUESTED) {
+            throw new IllegalStateException("Only DRAFT/CHANGES_REQUESTED reports can be updated.");
+        }
+    }
+
+    private static ExpenseItem findItem(ExpenseReport report, Long itemId) {
+        return report.getItems().stream()
+                .filter(it -> Objects.equals(it.getId(), itemId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Item " + itemId + " not found on report " + report.getId()));
+    }
+
+    /** Only assigns changed values so dirty checking leaves untouched rows alone. */
+    private static void applyItemFields(ExpenseItem item, java.time.LocalDate date, String description, BigDecimal amount, String category) {
+        if (date != null && !date.equals(item.getDate())) item.setDate(date);
+        if (description != null && !description.equals(item.getDescription())) item.setDescription(description);
+        if (amount != null && (item.getAmount() == null || amount.compareTo(item.getAmount()) != 0)) item.setAmount(amount);
+        if (category != null && !category.equals(item.getCategory())) item.setCategory(category);
+    }
+
+    private static void adjustTotal(ExpenseReport report, BigDecimal delta) {
+        BigDecimal current = report.getTotalAmount() != null ? report.getTotalAmount() : BigDecimal.ZERO;
+        report.setTotalAmount(current.add(delta));
+    }
+
     @Transactional
     public ExpenseReportStatus submitReport(Long reportId, com.example.demo.dto.SubmitRequest req) {
         ExpenseReport report = expenseReportRepository.findById(reportId)
@@ -624,8 +870,10 @@ public class ExpenseReportService {
         // Enforce meal rule (no duplicate meal entries by date)
         validateNoDuplicateMealDates(report.getItems());
 
+        claimTransition(report);
+
         String previousStatus = report.getStatus().name();
-        User submitter = report.getSubmitter();
+        UserDirectory.CachedUser submitter = submitterOf(report);
 
         var warnings = PolicyEngine.evaluateReportWarnings(report);
         if (warnings.isEmpty()) {
@@ -633,7 +881,7 @@ public class ExpenseReportService {
             specialReviewRepository.findByReportId(reportId).ifPresent(specialReviewRepository::delete);
 
             // Route into normal approval chain based on submitter role.
-            String rawRole = report.getSubmitter() != null ? report.getSubmitter().getRole() : null;
+            String rawRole = report.getSubmitter() != null ? submitterOf(report).role() : null;
             UserRole submitterRole = parseRole(rawRole);
 
             switch (submitterRole) {
@@ -645,7 +893,7 @@ public class ExpenseReportService {
 
             expenseReportRepository.save(report);
             logAudit(report, "SUBMITTED", previousStatus, report.getStatus().name(),
-                    submitter.getId(), submitter.getName(), null);
+                    submitter.id(), submitter.name(), null);
             return report.getStatus();
         }
 
@@ -668,32 +916,21 @@ public class ExpenseReportService {
                         .status(SpecialReviewStatus.PENDING)
                         .build());
 
+        int round = review.getId() == null ? 1 : review.getReviewRound() + 1;
+        review.setReviewRound(round);
         review.setStatus(SpecialReviewStatus.PENDING);
         review.setDecidedAt(null);
         review.setReviewer(null);
         review.setReviewerComment(null);
 
-        // Replace items
-        review.getItems().clear();
-        for (var w : warnings) {
-            String reason = reasonMap.getOrDefault(w.getCode(), "");
-            SpecialReviewItem item = SpecialReviewItem.builder()
-                    .review(review)
-                    .code(w.getCode())
-                    .message(w.getMessage())
-                    .employeeReason(reason)
-                    .financeDecision(null)
-                    .financeReason(null)
-                    .build();
-            review.getItems().add(item);
-        }
+        reconcileReviewItems(review, warnings, reasonMap, round);
 
         specialReviewRepository.save(review);
 
         // Exception review reviewer depends on who submitted:
         // - If CFO submits and still has exceptions, CEO reviews the exception
         // - Otherwise CFO reviews the exception
-        String rawRole = report.getSubmitter() != null ? report.getSubmitter().getRole() : null;
+        String rawRole = report.getSubmitter() != null ? submitterOf(report).role() : null;
         UserRole submitterRole = parseRole(rawRole);
         if (submitterRole == UserRole.CFO) {
             report.setStatus(ExpenseReportStatus.CEO_SPECIAL_REVIEW);
@@ -702,10 +939,56 @@ public class ExpenseReportService {
         }
         expenseReportRepository.save(report);
         logAudit(report, "SUBMITTED_FOR_REVIEW", previousStatus, report.getStatus().name(),
-                submitter.getId(), submitter.getName(), null);
+                submitter.id(), submitter.name(), null);
         return report.getStatus();
     }
 
+    /**
+     * Upserts review items by warning code. A warning whose message, evidence and employee reason are
+     * unchanged keeps its row and prior finance decision; a changed one is updated in place and its
+     * decision cleared; new codes are inserted and vanished ones removed (recorded in removedCodes).
+     * A code without a reason in this submission keeps the reason given earlier.
+     */
+    private static void reconcileReviewItems(SpecialReview review, List<PolicyEngine.Warning> warnings,
+                                             Map<String, String> reasonMap, int round) {
+        Map<String, SpecialReviewItem> existing = new java.util.LinkedHashMap<>();
+        for (var item : review.getItems()) {
+            existing.put(item.getCode(), item);
+        }
+
+        for (var w : warnings) {
+            SpecialReviewItem item = existing.remove(w.getCode());
+            if (item == null) {
+                review.getItems().add(SpecialReviewItem.builder()
+                        .review(review)
+                        .code(w.getCode())
+                        .message(w.getMessage())
+                        .evidence(w.getEvidence())
+                        .employeeReason(reasonMap.getOrDefault(w.getCode(), ""))
+                        .addedInRound(round)
+                        .changedInRound(round)
+                        .build());
+                continue;
+            }
+            String reason = reasonMap.get(w.getCode()) != null ? reasonMap.get(w.getCode()) : item.getEmployeeReason();
+            boolean changed = !Objects.equals(item.getMessage(), w.getMessage())
+                    || !Objects.equals(item.getEvidence(), w.getEvidence())
+                    || !Objects.equals(item.getEmployeeReason(), reason);
+            if (changed) {
+                item.setMessage(w.getMessage());
+                item.setEvidence(w.getEvidence());
+                item.setEmployeeReason(reason);
+                item.setFinanceDecision(null);
+                item.setFinanceReason(null);
+                item.setChangedInRound(round);
+            }
+        }
+
+        // Whatever is left no longer fires; orphanRemoval deletes the rows.
+        review.getItems().removeAll(existing.values());
+        review.setRemovedCodes(existing.isEmpty() ? null : String.join(",", existing.keySet()));
+    }
+
     public com.example.demo.dto.SpecialReviewResponse getExceptionReview(Long reportId) {
         var review = specialReviewRepository.findByReportId(reportId)
                 .orElseThrow(() -> new IllegalArgumentException("Special review not found for report: " + reportId));
@@ -718,14 +1001,51 @@ public class ExpenseReportService {
                 .reviewerId(review.getReviewer() != null ? review.getReviewer().getId() : null)
                 .reviewerName(review.getReviewer() != null ? review.getReviewer().getName() : null)
                 .reviewerComment(review.getReviewerComment())
-                .items(review.getItems().stream().map(it -> com.example.demo.dto.SpecialReviewItemResponse.builder()
-                        .id(it.getId())
-                        .code(it.getCode())
-                        .message(it.getMessage())
-                        .employeeReason(it.getEmployeeReason())
-                        .financeDecision(it.getFinanceDecision() != null ? it.getFinanceDecision().name() : null)
-                        .financeReason(it.getFinanceReason())
-                        .build()).toList())
+                .items(review.getItems().stream().map(ExpenseReportService::toItemResponse).toList())
+                .build();
+    }
+
+    /** Items added or changed in the current review round, plus the codes that were kept or dropped. */
+    public com.example.demo.dto.SpecialReviewDeltaResponse getExceptionReviewDelta(Long reportId) {
+        var review = specialReviewRepository.findByReportId(reportId)
+                .orElseThrow(() -> new IllegalArgumentException("Special review not found for report: " + reportId));
+
+        int round = review.getReviewRound();
+        var added = new ArrayList<com.example.demo.dto.SpecialReviewItemResponse>();
+        var changed = new ArrayList<com.example.demo.dto.SpecialReviewItemResponse>();
+        var unchanged = new ArrayList<String>();
+        for (var it : review.getItems()) {
+            if (it.getAddedInRound() == round) {
+                added.add(toItemResponse(it));
+            } else if (it.getChangedInRound() == round) {
+                changed.add(toItemResponse(it));
+            } else {
+                unchanged.add(it.getCode());
+            }
+        }
+        List<String> removed = review.getRemovedCodes() == null || review.getRemovedCodes().isBlank()
+                ? List.of()
+                : List.of(review.getRemovedCodes().split(","));
+
+        return com.example.demo.dto.SpecialReviewDeltaResponse.builder()
+                .reviewId(review.getId())
+                .round(round)
+                .status(review.getStatus().name())
+                .added(added)
+                .changed(changed)
+                .unchangedCodes(unchanged)
+                .removedCodes(removed)
+                .build();
+    }
+
+    private static com.example.demo.dto.SpecialReviewItemResponse toItemResponse(SpecialReviewItem it) {
+        return com.example.demo.dto.SpecialReviewItemResponse.builder()
+                .id(it.getId())
+                .code(it.getCode())
+                .message(it.getMessage())
+                .employeeReason(it.getEmployeeReason())
+                .financeDecision(it.getFinanceDecision() != null ? it.getFinanceDecision().name() : null)
+                .financeReason(it.getFinanceReason())
                 .build();
     }
 
@@ -749,14 +1069,7 @@ public class ExpenseReportService {
                 .decidedAt(review.getDecidedAt())
                 .reviewerName(review.getReviewer() != null ? review.getReviewer().getName() : null)
                 .reviewerComment(review.getReviewerComment())
-                .items(review.getItems().stream().map(it -> com.example.demo.dto.SpecialReviewItemResponse.builder()
-                        .id(it.getId())
-                        .code(it.getCode())
-                        .message(it.getMessage())
-                        .employeeReason(it.getEmployeeReason())
-                        .financeDecision(it.getFinanceDecision() != null ? it.getFinanceDecision().name() : null)
-                        .financeReason(it.getFinanceReason())
-                        .build()).toList())
+                .items(review.getItems().stream().map(ExpenseReportService::toItemResponse).toList())
                 .build();
     }
 
@@ -784,12 +1097,14 @@ public class ExpenseReportService {
             throw new IllegalStateException("Only CEO can approve CEO special reviews.");
         }
 
-        User reviewer = userRepository.findById(req.getReviewerId())
+        UserDirectory.CachedUser reviewer = userDirectory.findById(req.getReviewerId())
                 .orElseThrow(() -> new IllegalArgumentException("Reviewer not found: " + req.getReviewerId()));
 
         SpecialReview review = specialReviewRepository.findByReportId(reportId)
                 .orElseThrow(() -> new IllegalArgumentException("Special review not found for report: " + reportId));
 
+        claimTransition(report);
+
         // Apply decisions by code
         var decisionMap = new java.util.HashMap<String, com.example.demo.dto.SpecialReviewDecisionRequest.ItemDecision>();
         if (req.getDecisions() != null) {
@@ -803,7 +1118,12 @@ public class ExpenseReportService {
         for (var item : review.getItems()) {
             var d = decisionMap.get(item.getCode());
             if (d == null || d.decision == null) {
-                throw new IllegalArgumentException("Decision required for warning: " + item.getCode());
+                // Unchanged since the last round: the prior decision stands unless overridden.
+                if (item.getFinanceDecision() == null) {
+                    throw new IllegalArgumentException("Decision required for warning: " + item.getCode());
+                }
+                anyReject |= item.getFinanceDecision() == SpecialReviewDecision.REJECT;
+                continue;
             }
             var dec = SpecialReviewDecision.valueOf(d.decision.trim().toUpperCase());
             item.setFinanceDecision(dec);
@@ -817,7 +1137,7 @@ public class ExpenseReportService {
             }
         }
 
-        review.setReviewer(reviewer);
+        review.setReviewer(userRepository.getReferenceById(reviewer.id()));
         review.setReviewerComment(req.getReviewerComment());
         review.setDecidedAt(java.time.LocalDateTime.now());
         review.setStatus(anyReject ? SpecialReviewStatus.REJECTED : SpecialReviewStatus.APPROVED);
@@ -830,14 +1150,14 @@ public class ExpenseReportService {
             report.setStatus(ExpenseReportStatus.CHANGES_REQUESTED);
             expenseReportRepository.save(report);
             logAudit(report, "EXCEPTION_REJECTED", previousStatus, report.getStatus().name(),
-                    reviewer.getId(), reviewer.getName(), req.getReviewerComment());
+                    reviewer.id(), reviewer.name(), req.getReviewerComment());
             return report.getStatus();
         }
 
         // Approved exception review: clear review records and route to normal approval chain.
         specialReviewRepository.delete(review);
 
-        String rawRole = report.getSubmitter() != null ? report.getSubmitter().getRole() : null;
+        String rawRole = report.getSubmitter() != null ? submitterOf(report).role() : null;
         UserRole submitterRole = parseRole(rawRole);
 
         switch (submitterRole) {
@@ -849,7 +1169,7 @@ public class ExpenseReportService {
 
         expenseReportRepository.save(report);
         logAudit(report, "EXCEPTION_APPROVED", previousStatus, report.getStatus().name(),
-                reviewer.getId(), reviewer.getName(), req.getReviewerComment());
+                reviewer.id(), reviewer.name(), req.getReviewerComment());
         return report.getStatus();
     }
 
@@ -859,26 +1179,27 @@ public class ExpenseReportService {
         ExpenseReport report = expenseReportRepository.findById(reportId)
                 .orElseThrow(() -> new IllegalArgumentException("Report not found: " + reportId));
 
-        User approver = userRepository.findById(req.getApproverId())
+        UserDirectory.CachedUser approver = userDirectory.findById(req.getApproverId())
                 .orElseThrow(() -> new IllegalArgumentException("Approver not found: " + req.getApproverId()));
 
-        if (Objects.equals(report.getSubmitter(), approver)) {
+        if (report.getSubmitter() != null && Objects.equals(report.getSubmitter().getId(), approver.id())) {
             throw new IllegalStateException("You cannot approve/reject your own report.");
         }
 
         // Role-based status transition
         ExpenseReportStatus st = report.getStatus();
 
-        UserRole approverRole = parseRole(approver.getRole());
+        UserRole approverRole = parseRole(approver.role());
 
         if (st == ExpenseReportStatus.MANAGER_REVIEW || st == ExpenseReportStatus.SUBMITTED /* legacy */) {
             if (approverRole != UserRole.MANAGER) {
                 throw new IllegalStateException("Only MANAGER can approve MANAGER_REVIEW reports.");
             }
+            claimTransition(report);
             report.setStatus(ExpenseReportStatus.CFO_REVIEW);
             expenseReportRepository.save(report);
             logAudit(report, "MANAGER_APPROVED", st.name(), report.getStatus().name(),
-                    approver.getId(), approver.getName(), req.getComment());
+                    approver.id(), approver.name(), req.getComment());
             return;
         }
 
@@ -886,13 +1207,14 @@ public class ExpenseReportService {
             if (approverRole != UserRole.CFO) {
                 throw new IllegalStateException("Only CFO can approve CFO_REVIEW reports.");
             }
+            claimTransition(report);
             report.setStatus(ExpenseReportStatus.APPROVED);
-            report.setApprover(approver);
+            report.setApprover(userRepository.getReferenceById(approver.id()));
             report.setApprovedAt(LocalDateTime.now());
             report.setApprovalComment(req.getComment());
             expenseReportRepository.save(report);
             logAudit(report, "CFO_APPROVED", st.name(), report.getStatus().name(),
-                    approver.getId(), approver.getName(), req.getComment());
+                    approver.id(), approver.name(), req.getComment());
             return;
         }
 
@@ -900,13 +1222,14 @@ public class ExpenseReportService {
             if (approverRole != UserRole.CEO) {
                 throw new IllegalStateException("Only CEO can approve CEO_REVIEW reports.");
             }
+            claimTransition(report);
             report.setStatus(ExpenseReportStatus.APPROVED);
-            report.setApprover(approver);
+            report.setApprover(userRepository.getReferenceById(approver.id()));
             report.setApprovedAt(LocalDateTime.now());
             report.setApprovalComment(req.getComment());
             expenseReportRepository.save(report);
             logAudit(report, "CEO_APPROVED", st.name(), report.getStatus().name(),
-                    approver.getId(), approver.getName(), req.getComment());
+                    approver.id(), approver.name(), req.getComment());
             return;
         }
 
@@ -933,6 +1256,8 @@ public class ExpenseReportService {
         // If an exception review exists for some reason, delete it too.
         specialReviewRepository.findByReportId(reportId).ifPresent(specialReviewRepository::delete);
         expenseReportRepository.delete(report);
+        reportEventPublisher.publish(ReportEventType.REPORT_DELETED, reportId,
+                report.getStatus().name(), null, requesterId, null);
     }
 
     // Reject
@@ -941,10 +1266,10 @@ public class ExpenseReportService {
         ExpenseReport report = expenseReportRepository.findById(reportId)
                 .orElseThrow(() -> new IllegalArgumentException("Report not found: " + reportId));
 
-        User approver = userRepository.findById(req.getApproverId())
+        UserDirectory.CachedUser approver = userDirectory.findById(req.getApproverId())
                 .orElseThrow(() -> new IllegalArgumentException("Approver not found: " + req.getApproverId()));
 
-        if (Objects.equals(report.getSubmitter(), approver)) {
+        if (report.getSubmitter() != null && Objects.equals(report.getSubmitter().getId(), approver.id())) {
             throw new IllegalStateException("You cannot approve/reject your own report.");
         }
 
@@ -955,15 +1280,17 @@ public class ExpenseReportService {
             throw new IllegalStateException("Only MANAGER_REVIEW/CFO_REVIEW/CEO_REVIEW reports can be rejected.");
         }
 
+        claimTransition(report);
+
         String previousStatus = report.getStatus().name();
         report.setStatus(ExpenseReportStatus.REJECTED);
-        report.setApprover(approver);
+        report.setApprover(userRepository.getReferenceById(approver.id()));
         report.setRejectedAt(LocalDateTime.now()); // rejection timestamp (separate from approvedAt)
         report.setApprovalComment(req.getComment());
 
         expenseReportRepository.save(report);
         logAudit(report, "REJECTED", previousStatus, report.getStatus().name(),
-                approver.getId(), approver.getName(), req.getComment());
+                approver.id(), approver.name(), req.getComment());
     }
 
 }
@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.OverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password checks on a small dedicated pool instead of the request threads.
+ *
+ * BCrypt is deliberately CPU-bound, so the pool is sized to the cores and fronted by a short queue.
+ * When both are full the check is refused at once with OverloadedException (503 + Retry-After)
+ * rather than queued behind a login burst, and the rest of the API keeps its request threads.
+ *
+ * Metrics: auth.password.hash (timer), auth.password.hash.queued and .active (gauges) and
+ * auth.password.hash.rejections (counter).
+ */
+@Component
+public class PasswordVerifier {
+
+    public record Stats(int threads, int active, int queued, int queueCapacity,
+                        long completed, long rejected, double avgHashMillis, double maxHashMillis) {}
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+
+    private final Timer hashTime;
+    private final Counter rejected;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            MeterRegistry registry,
+                            @Value("${app.auth.hash-threads:0}") int threads,
+                            @Value("${app.auth.hash-queue:0}") int queueCapacity) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int poolSize = threads > 0 ? threads : cores;
+        this.passwordEncoder = passwordEncoder;
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : 2 * poolSize;
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashTime = Timer.builder("auth.password.hash")
+                .description("Password hash checks on the hashing pool")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(registry);
+        this.rejected = Counter.builder("auth.password.hash.rejections")
+                .description("Password checks refused with 503 because the hashing pool was full")
+                .register(registry);
+        Gauge.builder("auth.password.hash.queued", executor, e -> e.getQueue().size())
+                .description("Password checks waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password checks being hashed")
+                .register(registry);
+    }
+
+    /** Completes with whether raw matches the stored hash; throws OverloadedException when saturated. */
+    public CompletableFuture<Boolean> matches(String raw, String encoded) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timedMatch(raw, encoded), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new OverloadedException("Too many sign-ins in progress. Please retry shortly.", retryAfterSeconds());
+        }
+    }
+
+    private boolean timedMatch(String raw, String encoded) {
+        return hashTime.record(() -> passwordEncoder.matches(raw, encoded));
+    }
+
+    // Time for the current queue to drain at the observed hash rate.
+    private long retryAfterSeconds() {
+        double avgNanos = hashTime.count() > 0 ? hashTime.mean(TimeUnit.NANOSECONDS) : 100_000_000d;
+        double drainNanos = (executor.getQueue().size() + executor.getActiveCount()) * avgNanos / executor.getMaximumPoolSize();
+        return (long) Math.ceil(drainNanos / 1_000_000_000d);
+    }
+
+    /** Pool state and hash times; the max is the timer's, over its recent window. */
+    public Stats stats() {
+        return new Stats(executor.getMaximumPoolSize(), executor.getActiveCount(), executor.getQueue().size(), queueCapacity,
+                hashTime.count(), (long) rejected.count(),
+                hashTime.mean(TimeUnit.MILLISECONDS), hashTime.max(TimeUnit.MILLISECONDS));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -2,13 +2,20 @@ package com.example.demo.service;
 
 import com.example.demo.domain.ExpenseItem;
 import com.example.demo.domain.ExpenseReport;
+import com.example.demo.util.RequestTimings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Very small demo policy engine to make the app feel more like a real corporate tool.
@@ -19,6 +26,12 @@ public class PolicyEngine {
 
     // Demo corporate policy knobs
     // NOTE: We intentionally do NOT implement receipt attachment in this demo.
+    // Evaluation runs for every report in every list, so the meters are created once. The engine is static,
+    // hence the global registry (Spring Boot adds its Prometheus registry to it); PolicyEngineMeters
+    // registers the same meters with the application registry at startup, before the first evaluation.
+    private static final Timer EVALUATION_TIME = evaluationTime(Metrics.globalRegistry);
+    private static final DistributionSummary EVALUATION_ITEMS = evaluationItems(Metrics.globalRegistry);
+
     public static final BigDecimal HOTEL_NIGHTLY_LIMIT = new BigDecimal("250.00");
     public static final BigDecimal ENTERTAINMENT_LIMIT = new BigDecimal("100.00");
     public static final BigDecimal AIRFARE_LIMIT_US = new BigDecimal("500.00");
@@ -51,11 +64,44 @@ public class PolicyEngine {
          * Optional item scope (null for report-level warnings).
          */
         private final Long itemId;
+
+        /**
+         * The values that triggered the warning (e.g. the item amount). Exception review uses it to
+         * tell whether a warning that is still present has changed since it was last reviewed.
+         */
+        private final String evidence;
+    }
+
+    static Timer evaluationTime(MeterRegistry registry) {
+        return Timer.builder("policy.evaluation")
+                .description("PolicyEngine evaluation time per report")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(registry);
+    }
+
+    static DistributionSummary evaluationItems(MeterRegistry registry) {
+        return DistributionSummary.builder("policy.evaluation.items")
+                .description("Line items per evaluated report")
+                .serviceLevelObjectives(1, 5, 10, 25, 50, 100)
+                .register(registry);
     }
 
     public static List<Warning> evaluateReportWarnings(ExpenseReport report) {
+        if (report == null) return new ArrayList<>();
+        long start = System.nanoTime();
+        List<Warning> warnings = evaluate(report);
+        long elapsed = System.nanoTime() - start;
+        EVALUATION_TIME.record(elapsed, TimeUnit.NANOSECONDS);
+        RequestTimings.record(RequestTimings.Phase.POLICY, elapsed);
+        // evaluate() has walked the items, so this never triggers a load
+        EVALUATION_ITEMS.record(report.getItems() != null ? report.getItems().size() : 0);
+        return warnings;
+    }
+
+    private static List<Warning> evaluate(ExpenseReport report) {
         List<Warning> flags = new ArrayList<>();
-        if (report == null) return flags;
 
         // Trip date sanity check
         LocalDate dep = report.getDepartureDate();
@@ -67,6 +113,7 @@ public class PolicyEngine {
                     .baseCode("TRIP_DATES_INVALID")
                     .message("Trip dates invalid (departure after return)")
                     .itemId(null)
+                    .evidence(dep + ".." + ret)
                     .build());
         }
 
@@ -88,6 +135,7 @@ public class PolicyEngine {
                                 .baseCode("ITEM_DATE_OUTSIDE_TRIP")
                                 .message("Item date outside trip range")
                                 .itemId(it.getId())
+                                .evidence(it.getDate() + " not in " + dep + ".." + ret)
                                 .build());
                         break;
                     }
@@ -102,6 +150,7 @@ public class PolicyEngine {
                                 .baseCode(base)
                                 .message("Entertainment above cap ($" + ENTERTAINMENT_LIMIT.intValue() + ")")
                                 .itemId(itemId)
+                                .evidence(amount.stripTrailingZeros().toPlainString())
                                 .build());
                     }
                 }
@@ -115,6 +164,7 @@ public class PolicyEngine {
                                 .baseCode(base)
                                 .message("Hotel above nightly cap ($" + HOTEL_NIGHTLY_LIMIT.intValue() + ")")
                                 .itemId(itemId)
+                                .evidence(amount.stripTrailingZeros().toPlainString())
                                 .build());
                     }
                 }
@@ -130,6 +180,7 @@ public class PolicyEngine {
                                 .baseCode(base)
                                 .message("Airfare above cap ($" + limit.intValue() + ")")
                                 .itemId(itemId)
+                                .evidence(amount.stripTrailingZeros().toPlainString())
                                 .build());
                     }
                 }
@@ -143,6 +194,7 @@ public class PolicyEngine {
                                 .baseCode(base)
                                 .message("Transportation above cap ($" + TRANSPORTATION_LIMIT.intValue() + ")")
                                 .itemId(itemId)
+                                .evidence(amount.stripTrailingZeros().toPlainString())
                                 .build());
                     }
                 }
@@ -156,6 +208,7 @@ public class PolicyEngine {
                                 .baseCode(base)
                                 .message("Office expenses above cap ($" + OFFICE_LIMIT.intValue() + ")")
                                 .itemId(itemId)
+                                .evidence(amount.stripTrailingZeros().toPlainString())
                                 .build());
                     }
                 }
@@ -179,6 +232,7 @@ public class PolicyEngine {
                             .baseCode(base)
                             .message("Meals exceed daily cap ($" + MEAL_DAILY_LIMIT.intValue() + ")")
                             .itemId(null)
+                            .evidence(e.getValue().stripTrailingZeros().toPlainString())
                             .build());
                 }
             }
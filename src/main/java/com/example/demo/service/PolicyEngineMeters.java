@@ -0,0 +1,21 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * policy.evaluation and policy.evaluation.items, registered when the application starts.
+ *
+ * PolicyEngine records through the global registry, whose meters only reach the application registry
+ * once the class is first used; until then the series would be missing from scrapes.
+ */
+@Component
+public class PolicyEngineMeters implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        PolicyEngine.evaluationTime(registry);
+        PolicyEngine.evaluationItems(registry);
+    }
+}
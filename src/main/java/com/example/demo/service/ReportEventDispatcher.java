@@ -0,0 +1,296 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.ReportEvent;
+import com.example.demo.domain.ReportEventType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background delivery of report_events to the in-process ReportEventSubscribers.
+ *
+ * Identity ids are handed out at insert time but become visible at commit, so a reader can see id 8
+ * before a still-running transaction commits id 7, and cannot tell whether 7 is late or rolled back.
+ * Each run therefore starts by sequencing: under a lock, committed events that have no seq yet get the
+ * next positions in id order. A late commit simply gets a later seq, so positions are gap-free and
+ * nothing is skipped however long a transaction runs.
+ *
+ * Each subscriber has its own checkpoint row holding a seq. A run locks the row, reads the next batch
+ * of events after the checkpoint in seq order, hands them to the subscriber and moves the checkpoint,
+ * all in one transaction; if the subscriber throws, the transaction rolls back and the batch is
+ * redelivered on a later run (at-least-once). Subscribers are independent: a failing one does not hold
+ * up the others. Node-local subscribers (caches) keep their position in memory instead, so every
+ * instance delivers every event to its own copy.
+ *
+ * Sequenced events every shared subscriber has seen are pruned once older than the retention period.
+ */
+@Component
+public class ReportEventDispatcher implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportEventDispatcher.class);
+
+    private static final String LOCK_CHECKPOINT = "select last_event_id from event_checkpoints where subscriber = ? for update";
+    private static final String CREATE_CHECKPOINT =
+            "insert into event_checkpoints (subscriber, last_event_id, failures, updated_at) values (?, 0, 0, ?)";
+    // The sequencer starts after any events that already have a position
+    private static final String CREATE_SEQUENCER = """
+            insert into event_checkpoints (subscriber, last_event_id, failures, updated_at)
+            select ?, coalesce(max(seq), 0), 0, ? from report_events
+            """;
+    private static final String SELECT_UNSEQUENCED = "select id from report_events where seq is null order by id limit ?";
+    private static final String ASSIGN_SEQ = "update report_events set seq = ? where id = ?";
+    private static final String SELECT_BATCH = """
+            select id, type, report_id, from_status, to_status, actor_id, comment, created_at, seq
+            from report_events where seq > ? order by seq limit ?
+            """;
+    private static final String ADVANCE_CHECKPOINT =
+            "update event_checkpoints set last_event_id = ?, updated_at = ?, failures = 0, last_error = null where subscriber = ?";
+    private static final String RECORD_FAILURE =
+            "update event_checkpoints set failures = failures + 1, last_error = ?, updated_at = ? where subscriber = ?";
+    private static final String PRUNE = """
+            delete from report_events
+            where seq <= (select min(last_event_id) from event_checkpoints where subscriber in (:names)) and created_at < :before
+            """;
+
+    // Checkpoint row of the sequencer; not a valid subscriber name by convention
+    static final String SEQUENCER = "#sequencer";
+
+    private static final RowMapper<ReportEvent> EVENT_ROW = (rs, n) -> ReportEvent.builder()
+            .id(rs.getLong("id"))
+            .type(ReportEventType.valueOf(rs.getString("type")))
+            .reportId(rs.getLong("report_id"))
+            .fromStatus(rs.getString("from_status"))
+            .toStatus(rs.getString("to_status"))
+            .actorId(rs.getObject("actor_id", Long.class))
+            .comment(rs.getString("comment"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .seq(rs.getLong("seq"))
+            .build();
+
+    private final List<ReportEventSubscriber> subscribers;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+    private final Set<String> checkpointsCreated = ConcurrentHashMap.newKeySet();
+    // Positions of node-local subscribers on this instance
+    private final Map<String, AtomicLong> localPositions = new ConcurrentHashMap<>();
+
+    public ReportEventDispatcher(List<ReportEventSubscriber> subscribers,
+                                 JdbcTemplate jdbcTemplate,
+                                 NamedParameterJdbcTemplate namedJdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.events.batch-size:200}") int batchSize,
+                                 @Value("${app.events.retention:7d}") Duration retention) {
+        this.subscribers = List.copyOf(subscribers);
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.retention = retention;
+    }
+
+    /**
+     * Node-local subscribers start at the newest sequenced event. Runs once the schema is migrated and
+     * before the web server takes requests, so no cache can be filled ahead of its starting point;
+     * committed events that are not sequenced yet get later positions and are still delivered.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (ReportEventSubscriber subscriber : subscribers) {
+            if (subscriber.nodeLocal()) {
+                localPositions.computeIfAbsent(subscriber.name(), n -> new AtomicLong(newestSeq()));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.dispatch-interval-ms:500}")
+    public void scheduledDispatch() {
+        try {
+            dispatch();
+            prune();
+        } catch (Exception e) {
+            // Checkpoints did not move; the next run retries.
+            log.warn("Event dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    /** Delivers pending events to every subscriber; returns the number of deliveries made. */
+    public int dispatch() {
+        sequence();
+        int delivered = 0;
+        for (ReportEventSubscriber subscriber : subscribers) {
+            delivered += drain(subscriber);
+        }
+        return delivered;
+    }
+
+    /** Gives committed events without a position the next ones, in id order; returns how many. */
+    int sequence() {
+        ensureCheckpoint(SEQUENCER, CREATE_SEQUENCER);
+        int total = 0;
+        int assigned;
+        do {
+            assigned = transactionTemplate.execute(tx -> {
+                long last = jdbcTemplate.queryForObject(LOCK_CHECKPOINT, Long.class, SEQUENCER);
+                List<Long> ids = jdbcTemplate.queryForList(SELECT_UNSEQUENCED, Long.class, batchSize);
+                if (ids.isEmpty()) return 0;
+                List<Object[]> args = new ArrayList<>(ids.size());
+                for (int i = 0; i < ids.size(); i++) {
+                    args.add(new Object[]{last + 1 + i, ids.get(i)});
+                }
+                jdbcTemplate.batchUpdate(ASSIGN_SEQ, args);
+                jdbcTemplate.update(ADVANCE_CHECKPOINT, last + ids.size(), LocalDateTime.now(), SEQUENCER);
+                return ids.size();
+            });
+            total += assigned;
+        } while (assigned == batchSize);
+        return total;
+    }
+
+    private int drain(ReportEventSubscriber subscriber) {
+        if (subscriber.nodeLocal()) {
+            return drainLocal(subscriber);
+        }
+        ensureCheckpoint(subscriber.name(), CREATE_CHECKPOINT);
+        int delivered = 0;
+        int taken;
+        do {
+            try {
+                taken = transactionTemplate.execute(tx -> deliverBatch(subscriber));
+            } catch (RuntimeException e) {
+                log.warn("Subscriber {} failed, batch will be redelivered: {}", subscriber.name(), e.toString());
+                recordFailure(subscriber.name(), e);
+                return delivered;
+            }
+            delivered += taken;
+        } while (taken == batchSize);
+        return delivered;
+    }
+
+    private int deliverBatch(ReportEventSubscriber subscriber) {
+        long checkpoint = jdbcTemplate.queryForObject(LOCK_CHECKPOINT, Long.class, subscriber.name());
+        List<ReportEvent> events = jdbcTemplate.query(SELECT_BATCH, EVENT_ROW, checkpoint, batchSize);
+        if (events.isEmpty()) return 0;
+        events.forEach(subscriber::onEvent);
+        jdbcTemplate.update(ADVANCE_CHECKPOINT, events.get(events.size() - 1).getSeq(), LocalDateTime.now(), subscriber.name());
+        return events.size();
+    }
+
+    // Same batches as deliverBatch, without a transaction: the position only moves in memory
+    private int drainLocal(ReportEventSubscriber subscriber) {
+        AtomicLong position = localPositions.computeIfAbsent(subscriber.name(), n -> new AtomicLong(newestSeq()));
+        int delivered = 0;
+        List<ReportEvent> events;
+        do {
+            events = jdbcTemplate.query(SELECT_BATCH, EVENT_ROW, position.get(), batchSize);
+            try {
+                events.forEach(subscriber::onEvent);
+            } catch (RuntimeException e) {
+                log.warn("Subscriber {} failed, batch will be redelivered: {}", subscriber.name(), e.toString());
+                return delivered;
+            }
+            if (!events.isEmpty()) position.set(events.get(events.size() - 1).getSeq());
+            delivered += events.size();
+        } while (events.size() == batchSize);
+        return delivered;
+    }
+
+    private long newestSeq() {
+        return jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from report_events", Long.class);
+    }
+
+    private void ensureCheckpoint(String name, String createSql) {
+        if (checkpointsCreated.contains(name)) return;
+        Integer existing = jdbcTemplate.queryForObject(
+                "select count(*) from event_checkpoints where subscriber = ?", Integer.class, name);
+        if (existing == null || existing == 0) {
+            try {
+                jdbcTemplate.update(createSql, name, LocalDateTime.now());
+            } catch (DuplicateKeyException e) {
+                // Another instance created it first.
+            }
+        }
+        checkpointsCreated.add(name);
+    }
+
+    private void recordFailure(String name, RuntimeException e) {
+        String message = String.valueOf(e);
+        try {
+            jdbcTemplate.update(RECORD_FAILURE, message.length() > 2000 ? message.substring(0, 2000) : message,
+                    LocalDateTime.now(), name);
+        } catch (RuntimeException ignored) {
+            // Best effort; the failure is already logged.
+        }
+    }
+
+    /**
+     * Deletes sequenced events every shared subscriber has handled and that are past the retention
+     * period. Node-local subscribers do not hold this back: one that is further behind than the
+     * retention period misses the pruned events.
+     */
+    public int prune() {
+        List<String> names = new ArrayList<>(List.of(SEQUENCER));
+        subscribers.stream().filter(s -> !s.nodeLocal()).map(ReportEventSubscriber::name).forEach(names::add);
+        // Without a checkpoint for every subscriber the minimum would ignore the missing ones.
+        if (!checkpointsCreated.containsAll(names)) return 0;
+        return namedJdbcTemplate.update(PRUNE, Map.of(
+                "names", names,
+                "before", Timestamp.valueOf(LocalDateTime.now().minus(retention))));
+    }
+
+    public record SubscriberStatus(String subscriber, long lastEventId, long pending, int failures,
+                                   String lastError, LocalDateTime updatedAt) {}
+
+    /** Checkpoint, backlog and last error per subscriber. */
+    public List<SubscriberStatus> status() {
+        return subscribers.stream().map(s -> {
+            if (s.nodeLocal()) {
+                AtomicLong position = localPositions.get(s.name());
+                long lastSeq = position != null ? position.get() : 0;
+                return new SubscriberStatus(s.name(), lastSeq, countAfter(lastSeq), 0, null, null);
+            }
+            List<SubscriberStatus> rows = jdbcTemplate.query(
+                    "select last_event_id, failures, last_error, updated_at from event_checkpoints where subscriber = ?",
+                    (rs, n) -> {
+                        long lastId = rs.getLong("last_event_id");
+                        Timestamp updated = rs.getTimestamp("updated_at");
+                        return new SubscriberStatus(s.name(), lastId, countAfter(lastId),
+                                rs.getInt("failures"), rs.getString("last_error"),
+                                updated != null ? updated.toLocalDateTime() : null);
+                    }, s.name());
+            return rows.isEmpty() ? new SubscriberStatus(s.name(), 0, countAfter(0), 0, null, null) : rows.get(0);
+        }).toList();
+    }
+
+    private long countAfter(long seq) {
+        Long n = jdbcTemplate.queryForObject("select count(*) from report_events where seq > ? or seq is null", Long.class, seq);
+        return n != null ? n : 0;
+    }
+
+    @PreDestroy
+    public void dispatchOnShutdown() {
+        scheduledDispatch();
+    }
+}
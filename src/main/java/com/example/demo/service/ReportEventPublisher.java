@@ -0,0 +1,85 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.ReportEvent;
+import com.example.demo.domain.ReportEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends workflow events to the report_events outbox. Must be called inside the transaction that
+ * makes the change, so the event commits or rolls back with it.
+ *
+ * Events are plain JDBC inserts: going through JPA, the identity id would force Hibernate to insert
+ * each event on the spot, outside its batches. publish() instead collects the transaction's events
+ * and writes them as one batch just before it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportEventPublisher {
+
+    private static final String INSERT_EVENT =
+            "insert into report_events (type, report_id, from_status, to_status, actor_id, comment, created_at) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void publish(ReportEventType type, Long reportId, String fromStatus, String toStatus, Long actorId, String comment) {
+        ReportEvent event = event(type, reportId, fromStatus, toStatus, actorId, comment, LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishAll(List.of(event));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<ReportEvent> pending = (List<ReportEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<ReportEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    publishAll(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReportEventPublisher.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    /** One JDBC batch for the bulk paths (import, bulk decision). */
+    public void publishAll(List<ReportEvent> events) {
+        if (events.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (ps, e) -> {
+            ps.setString(1, e.getType().name());
+            ps.setLong(2, e.getReportId());
+            ps.setString(3, e.getFromStatus());
+            ps.setString(4, e.getToStatus());
+            ps.setObject(5, e.getActorId());
+            ps.setString(6, e.getComment());
+            ps.setObject(7, e.getCreatedAt());
+        });
+    }
+
+    public static ReportEvent event(ReportEventType type, Long reportId, String fromStatus, String toStatus,
+                                    Long actorId, String comment, LocalDateTime createdAt) {
+        return ReportEvent.builder()
+                .type(type)
+                .reportId(reportId)
+                .fromStatus(fromStatus)
+                .toStatus(toStatus)
+                .actorId(actorId)
+                .comment(comment)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.ReportEvent;
+
+/**
+ * In-process consumer of workflow events. Delivery is at-least-once and in commit order per subscriber:
+ * if onEvent throws, the whole batch is delivered again on the next dispatcher run, so handlers must
+ * be idempotent.
+ */
+public interface ReportEventSubscriber {
+
+    /** Stable name; the key of the subscriber's checkpoint, so renaming it replays retained events. */
+    String name();
+
+    /**
+     * Whether the subscriber keeps state of this instance only (a cache). Such a subscriber gets every
+     * event on every instance: its position is kept in memory, starts at the newest event when the
+     * instance starts, and does not hold back pruning. Otherwise each event goes to one instance.
+     */
+    default boolean nodeLocal() {
+        return false;
+    }
+
+    void onEvent(ReportEvent event);
+}
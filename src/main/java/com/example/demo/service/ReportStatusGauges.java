@@ -0,0 +1,70 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.ExpenseReportStatus;
+import com.example.demo.repository.ExpenseReportRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * expense.reports{status} gauges: how many reports are in each status.
+ *
+ * One gauge per status is registered at startup. The counts come from a single grouped query that
+ * runs at most once per `app.metrics.status-counts-ttl` (on the scrape thread), however often the
+ * gauges are read. If the query fails the previous counts are kept.
+ */
+@Component
+public class ReportStatusGauges implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportStatusGauges.class);
+
+    private final ExpenseReportRepository expenseReportRepository;
+    private final long ttlNanos;
+
+    private Map<ExpenseReportStatus, Long> counts = new EnumMap<>(ExpenseReportStatus.class);
+    private long loadedAt;
+    private boolean loaded;
+
+    public ReportStatusGauges(ExpenseReportRepository expenseReportRepository,
+                              @Value("${app.metrics.status-counts-ttl:30s}") Duration ttl) {
+        this.expenseReportRepository = expenseReportRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ExpenseReportStatus status : ExpenseReportStatus.values()) {
+            Gauge.builder("expense.reports", this, gauges -> gauges.count(status))
+                    .description("Expense reports per status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+    }
+
+    synchronized double count(ExpenseReportStatus status) {
+        long now = System.nanoTime();
+        if (!loaded || now - loadedAt >= ttlNanos) {
+            loaded = true;
+            loadedAt = now;
+            try {
+                Map<ExpenseReportStatus, Long> fresh = new EnumMap<>(ExpenseReportStatus.class);
+                for (Object[] row : expenseReportRepository.countByStatus()) {
+                    if (row[0] != null) fresh.put((ExpenseReportStatus) row[0], ((Number) row[1]).longValue());
+                }
+                counts = fresh;
+            } catch (DataAccessException e) {
+                log.warn("Could not refresh report status counts: {}", e.getMessage());
+            }
+        }
+        return counts.getOrDefault(status, 0L);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workflow timers: expense.report.transitions{action, outcome} around the ExpenseReportService methods
+ * that move a report through its lifecycle.
+ *
+ * Ordered ahead of the transaction advice, so a transition's time includes the flush and commit where
+ * its UPDATEs actually run. Timers are registered up front (one per action and outcome); a call only
+ * does a map lookup and Timer.record.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReportTransitionTimers {
+
+    static final String TRANSITIONS = "expense.report.transitions";
+
+    // ExpenseReportService method -> action tag; keep in step with the pointcut below
+    private static final Map<String, String> ACTIONS = Map.of(
+            "createReport", "create",
+            "updateReport", "update",
+            "submitReport", "submit",
+            "approveReport", "approve",
+            "rejectReport", "reject",
+            "decideExceptionReview", "decide");
+
+    private final Map<String, Timer> succeeded = new HashMap<>();
+    private final Map<String, Timer> failed = new HashMap<>();
+
+    public ReportTransitionTimers(MeterRegistry registry) {
+        ACTIONS.forEach((method, action) -> {
+            // Fail at startup rather than silently stop timing a renamed method
+            if (Arrays.stream(ExpenseReportService.class.getMethods()).map(Method::getName).noneMatch(method::equals)) {
+                throw new IllegalStateException("ExpenseReportService." + method + " not found for " + TRANSITIONS);
+            }
+            succeeded.put(method, timer(registry, action, "success"));
+            failed.put(method, timer(registry, action, "error"));
+        });
+    }
+
+    @Around("execution(* com.example.demo.service.ExpenseReportService.createReport(..))"
+            + " || execution(* com.example.demo.service.ExpenseReportService.updateReport(..))"
+            + " || execution(* com.example.demo.service.ExpenseReportService.submitReport(..))"
+            + " || execution(* com.example.demo.service.ExpenseReportService.approveReport(..))"
+            + " || execution(* com.example.demo.service.ExpenseReportService.rejectReport(..))"
+            + " || execution(* com.example.demo.service.ExpenseReportService.decideExceptionReview(..))")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        String method = call.getSignature().getName();
+        long start = System.nanoTime();
+        try {
+            Object result = call.proceed();
+            succeeded.get(method).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            failed.get(method).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String action, String outcome) {
+        return Timer.builder(TRANSITIONS)
+                .description("Expense report workflow transitions, including commit")
+                .tag("action", action)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+}
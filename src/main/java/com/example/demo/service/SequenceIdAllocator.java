@@ -0,0 +1,71 @@
+package com.example.demo.service;
+
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ids for rows written with plain JDBC batches (bulk import, bulk decisions).
+ *
+ * Draws from the entity's own sequence, one nextval per allocationSize ids, and reads a value V the
+ * way Hibernate's pooled optimizer does (it covers V - allocationSize + 1 .. V), so these ids never
+ * collide with the ones Hibernate hands out for regular inserts.
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<Class<?>, Pool> pools = new ConcurrentHashMap<>();
+
+    public long next(Class<?> entityType) {
+        return pools.computeIfAbsent(entityType, this::pool).next();
+    }
+
+    private Pool pool(Class<?> entityType) {
+        SequenceGenerator generator = Arrays.stream(entityType.getDeclaredFields())
+                .filter(f -> f.isAnnotationPresent(Id.class))
+                .map(f -> f.getAnnotation(SequenceGenerator.class))
+                .findFirst()
+                .orElse(null);
+        if (generator == null) {
+            throw new IllegalArgumentException(entityType.getSimpleName() + " has no @SequenceGenerator on its id");
+        }
+        return new Pool(generator.sequenceName(), generator.allocationSize());
+    }
+
+    private final class Pool {
+
+        private final String nextvalSql;
+        private final int allocationSize;
+        // nextval runs under this lock; a monitor would pin a virtual thread for the round trip
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next = 1;
+        private long hi = 0;
+
+        private Pool(String sequence, int allocationSize) {
+            this.nextvalSql = "select nextval('" + sequence + "')";
+            this.allocationSize = allocationSize;
+        }
+
+        long next() {
+            lock.lock();
+            try {
+                if (next > hi) {
+                    hi = jdbcTemplate.queryForObject(nextvalSql, Long.class);
+                    // The first value of a fresh sequence is 1; ids start there rather than below it
+                    next = Math.max(1, hi - allocationSize + 1);
+                }
+                return next++;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
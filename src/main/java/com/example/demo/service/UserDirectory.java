@@ -0,0 +1,85 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.util.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cached user lookups for login and workflow transitions.
+ *
+ * Holds immutable snapshots rather than entities, so cached values never leak between persistence
+ * contexts; code that needs a User for an association should use UserRepository.getReferenceById.
+ *
+ * Anything that changes users must call invalidate/invalidateAll. Invalidation inside a transaction
+ * runs again when it completes, so a concurrent lookup cannot re-cache the pre-commit rows.
+ */
+@Component
+public class UserDirectory {
+
+    public record CachedUser(Long id, String name, String email, String role, String passwordHash) {
+        static CachedUser of(User u) {
+            return new CachedUser(u.getId(), u.getName(), u.getEmail(), u.getRole(), u.getPassword());
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final BoundedTtlCache<Long, CachedUser> byId;
+    private final BoundedTtlCache<String, CachedUser> byEmail;
+
+    public UserDirectory(UserRepository userRepository,
+                         @Value("${app.users.cache.max-size:1000}") int maxSize,
+                         @Value("${app.users.cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.byId = new BoundedTtlCache<>(maxSize, ttl);
+        this.byEmail = new BoundedTtlCache<>(maxSize, ttl);
+    }
+
+    public Optional<CachedUser> findById(Long id) {
+        if (id == null) return Optional.empty();
+        return byId.get(id, k -> userRepository.findById(k).map(CachedUser::of));
+    }
+
+    public Optional<CachedUser> findByEmail(String email) {
+        if (email == null) return Optional.empty();
+        return byEmail.get(email, k -> userRepository.findByEmail(k).map(CachedUser::of));
+    }
+
+    public void invalidate(Long id) {
+        runNowAndAfterCommit(() -> {
+            byId.invalidate(id);
+            // Email may have changed as well; the email side is small, so drop it wholesale.
+            byEmail.invalidateAll();
+        });
+    }
+
+    public void invalidateAll() {
+        runNowAndAfterCommit(() -> {
+            byId.invalidateAll();
+            byEmail.invalidateAll();
+        });
+    }
+
+    public Map<String, BoundedTtlCache.Stats> stats() {
+        return Map.of("usersById", byId.stats(), "usersByEmail", byEmail.stats());
+    }
+
+    private static void runNowAndAfterCommit(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to observed latency (the "gradient" algorithm).
+ *
+ * Two moving averages of request latency are kept: a short one that follows the current load and a
+ * long one that stands for the latency the resource delivers when it is not congested. While the short
+ * average stays within `tolerance` of the long one the limit grows by a small queue allowance on every
+ * sample; once requests start waiting on something downstream (a saturated connection pool, lock
+ * contention) the short average rises and the limit shrinks in proportion, down to half per sample.
+ * Samples taken while less than half the limit was in use say nothing about the limit and are only
+ * used for the averages.
+ *
+ * Admission is a CAS on the in-flight counter; when it is at the limit the caller is refused straight
+ * away, there is no queue. Each permit must be released exactly once; release is idempotent.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_SMOOTHING = 0.1;
+    private static final double LONG_SMOOTHING = 0.01;
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double limit;
+    // Guarded by this
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, 1.5, System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.tolerance = Math.max(1.0, tolerance);
+        this.nanoClock = nanoClock;
+    }
+
+    /** A permit, or null when the limit is reached. */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.incrementAndGet();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.incrementAndGet();
+                return new Permit(nanoClock.getAsLong(), current + 1);
+            }
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats((int) limit, inFlight.get(), accepted.get(), rejected.get(),
+                shortRttNanos / 1_000_000.0, longRttNanos / 1_000_000.0);
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) * SHORT_SMOOTHING;
+            longRttNanos += (rttNanos - longRttNanos) * LONG_SMOOTHING;
+        }
+        // After a slow period the long average lags far behind; pull it down so the limit can recover.
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        double current = limit;
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING;
+        limit = Math.min(maxLimit, Math.max(minLimit, next));
+    }
+
+    public final class Permit {
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release() {
+            if (!released.compareAndSet(false, true)) return;
+            inFlight.decrementAndGet();
+            onSample(Math.max(1, nanoClock.getAsLong() - startNanos), inFlightAtStart);
+        }
+    }
+
+    public record Stats(int limit, int inFlight, long accepted, long rejected,
+                        double shortRttMillis, double longRttMillis) {}
+}
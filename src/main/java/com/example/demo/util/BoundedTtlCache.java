@@ -0,0 +1,137 @@
+package com.example.demo.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Small in-process LRU cache with a per-entry time-to-live.
+ *
+ * Access order is kept by a LinkedHashMap under a single lock; loaders run outside the lock, so a
+ * slow database lookup never blocks readers of other keys. A load that overlaps an invalidation is
+ * returned but not cached, so it cannot resurrect stale data. Misses (loader returned empty) are not
+ * cached. Meant for small, hot, rarely-changing lookups, not as a general-purpose cache.
+ */
+public class BoundedTtlCache<K, V> {
+
+    public record Stats(long hits, long misses, long evictions, int size, int maxSize) {}
+
+    private record Entry<V>(V value, long expiresAtNanos) {}
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long generation;   // bumped by invalidate*, guarded by entries
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BoundedTtlCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    public BoundedTtlCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /** Cached value for key, or the loader's result (cached when present). */
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long loadGeneration;
+        synchronized (entries) {
+            loadGeneration = generation;
+            Entry<V> e = live(key);
+            if (e != null) {
+                hits.incrementAndGet();
+                return Optional.of(e.value());
+            }
+        }
+        misses.incrementAndGet();
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(v -> putIfGeneration(key, v, ttlNanos, loadGeneration));
+        return loaded;
+    }
+
+    /** Cached value for key, without loading; counts as a hit or miss. */
+    public Optional<V> getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> e = live(key);
+            if (e != null) {
+                hits.incrementAndGet();
+                return Optional.of(e.value());
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlNanos);
+    }
+
+    /** Caches value for the shorter of ttl and the cache's own time-to-live. */
+    public void put(K key, V value, Duration ttl) {
+        long nanos = Math.min(ttl.toNanos(), ttlNanos);
+        if (nanos <= 0) return;
+        put(key, value, nanos);
+    }
+
+    private void put(K key, V value, long entryTtlNanos) {
+        synchronized (entries) {
+            putIfGeneration(key, value, entryTtlNanos, generation);
+        }
+    }
+
+    // Entry for key if not expired; drops it if it is. Caller holds the lock.
+    private Entry<V> live(K key) {
+        Entry<V> e = entries.get(key);
+        if (e == null) return null;
+        if (e.expiresAtNanos() - nanoClock.getAsLong() > 0) return e;
+        entries.remove(key);
+        evictions.incrementAndGet();
+        return null;
+    }
+
+    private void putIfGeneration(K key, V value, long entryTtlNanos, long expectedGeneration) {
+        long expiresAt = nanoClock.getAsLong() + entryTtlNanos;
+        synchronized (entries) {
+            if (generation != expectedGeneration) return;
+            entries.put(key, new Entry<>(value, expiresAt));
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            while (entries.size() > maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits.get(), misses.get(), evictions.get(), entries.size(), maxSize);
+        }
+    }
+}
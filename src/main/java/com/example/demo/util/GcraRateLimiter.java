@@ -0,0 +1,96 @@
+package com.example.demo.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key rate limiter using the generic cell rate algorithm (GCRA).
+ *
+ * Each key's whole state is one long, its theoretical arrival time (TAT), updated with a CAS loop;
+ * there are no locks on the hot path. A request is allowed when TAT - now <= burst tolerance, and then
+ * moves TAT one emission interval further. This is equivalent to a token bucket holding `burst` tokens
+ * refilled at `limit / period`.
+ *
+ * A key whose TAT has passed carries no information (it is indistinguishable from a new key), so the
+ * table can drop it at any time. Once it grows past maxKeys, one caller sweeps those idle keys; if it
+ * is still full, arbitrary keys are dropped, which only forgives their recent history. Memory stays
+ * bounded whatever the number of distinct keys.
+ */
+public class GcraRateLimiter implements RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> states = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    /** At most `limit` requests per `period` per key, all of which may arrive at once. */
+    public static GcraRateLimiter of(int limit, Duration period, int maxKeys) {
+        return of(limit, period, limit, maxKeys);
+    }
+
+    public static GcraRateLimiter of(int limit, Duration period, int burst, int maxKeys) {
+        return new GcraRateLimiter(limit, period, burst, maxKeys, System::nanoTime);
+    }
+
+    public GcraRateLimiter(int limit, Duration period, int burst, int maxKeys, LongSupplier nanoClock) {
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / Math.max(1, limit));
+        this.toleranceNanos = emissionIntervalNanos * (Math.max(1, burst) - 1);
+        this.maxKeys = Math.max(1, maxKeys);
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong state = states.get(key);
+        if (state == null) {
+            state = new AtomicLong(now);
+            AtomicLong raced = states.putIfAbsent(key, state);
+            if (raced != null) {
+                state = raced;
+            } else if (states.size() > maxKeys) {
+                evict(now);
+            }
+        }
+        while (true) {
+            long tat = state.get();
+            long base = tat - now > 0 ? tat : now;
+            long wait = base - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (state.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    private void evict(long now) {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            for (Map.Entry<String, AtomicLong> e : states.entrySet()) {
+                if (e.getValue().get() - now <= 0) {
+                    states.remove(e.getKey(), e.getValue());
+                }
+            }
+            Iterator<String> it = states.keySet().iterator();
+            while (states.size() > maxKeys && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed millisecond buckets (1-2.5-5 steps from 0.5 ms to 10 s).
+ *
+ * Recording is a bucket search plus two LongAdder increments, cheap enough to run on every JDBC
+ * statement. Percentiles are read off the buckets, so they are upper bounds at bucket resolution
+ * (capped at the observed maximum).
+ */
+public class LatencyHistogram {
+
+    private static final double[] BOUNDS_MILLIS = {0.5, 1, 2.5, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    /**
+     * Counts per bucket are not cumulative; keys are the bucket's upper bound in ms ("+Inf" for the last).
+     */
+    public record Stats(long count, double meanMillis, double maxMillis,
+                        double p50Millis, double p95Millis, double p99Millis, Map<String, Long> buckets) {}
+
+    private final LongAdder[] counts = new LongAdder[BOUNDS_MILLIS.length + 1];
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < counts.length; i++) counts[i] = new LongAdder();
+    }
+
+    public void record(long nanos) {
+        double millis = nanos / 1_000_000d;
+        int i = 0;
+        while (i < BOUNDS_MILLIS.length && millis > BOUNDS_MILLIS[i]) i++;
+        counts[i].increment();
+        totalNanos.add(nanos);
+        if (nanos > maxNanos.get()) maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long count() {
+        long n = 0;
+        for (LongAdder c : counts) n += c.sum();
+        return n;
+    }
+
+    public double totalMillis() {
+        return totalNanos.sum() / 1_000_000d;
+    }
+
+    public Stats stats() {
+        long[] snapshot = new long[counts.length];
+        long n = 0;
+        for (int i = 0; i < counts.length; i++) {
+            snapshot[i] = counts[i].sum();
+            n += snapshot[i];
+        }
+        double max = maxNanos.get() / 1_000_000d;
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < snapshot.length; i++) {
+            buckets.put(i < BOUNDS_MILLIS.length ? format(BOUNDS_MILLIS[i]) : "+Inf", snapshot[i]);
+        }
+        return new Stats(n, n > 0 ? totalNanos.sum() / 1_000_000d / n : 0, max,
+                percentile(snapshot, n, 0.50, max), percentile(snapshot, n, 0.95, max),
+                percentile(snapshot, n, 0.99, max), buckets);
+    }
+
+    private static double percentile(long[] snapshot, long n, double q, double max) {
+        if (n == 0) return 0;
+        long rank = (long) Math.ceil(q * n);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return i < BOUNDS_MILLIS.length ? Math.min(BOUNDS_MILLIS[i], max) : max;
+        }
+        return max;
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) ? Long.toString((long) bound) : Double.toString(bound);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.util;
+
+/**
+ * Per-key admission check used by RateLimitFilter; see GcraRateLimiter and JdbcRateLimitStore.
+ */
+public interface RateLimiter {
+
+    /** 0 if the request is allowed, otherwise the nanoseconds until it would be. */
+    long tryAcquire(String key);
+}
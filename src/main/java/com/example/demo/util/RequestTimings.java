@@ -0,0 +1,110 @@
+package com.example.demo.util;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Time spent per phase while serving one request, for the Server-Timing header and the sampled request
+ * log (see ServerTimingFilter).
+ *
+ * The filter binds an instance to the request thread; code that does the work records into whatever is
+ * bound (a no-op when nothing is). Work handed to another thread (the dashboard read pool) binds the
+ * same instance there, so recording is thread-safe and a phase can add up to more than wall time when
+ * its work runs in parallel.
+ */
+public final class RequestTimings {
+
+    public enum Phase {
+        AUTH("auth", "JWT verification"),
+        DB("db", "SQL statements"),
+        POLICY("policy", "Policy evaluation"),
+        SERIALIZATION("ser", "Response serialization");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray nanos = new AtomicLongArray(Phase.values().length);
+    private final AtomicLongArray counts = new AtomicLongArray(Phase.values().length);
+    private final BooleanSupplier headerWanted;
+    private volatile boolean headerWritten;
+
+    /** headerWanted is asked at write time, after authentication, whether to send Server-Timing. */
+    public RequestTimings(BooleanSupplier headerWanted) {
+        this.headerWanted = headerWanted;
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /** Binds timings to the current thread; returns the previous binding for {@link #restore}. */
+    public static RequestTimings bind(RequestTimings timings) {
+        RequestTimings previous = CURRENT.get();
+        CURRENT.set(timings);
+        return previous;
+    }
+
+    public static void restore(RequestTimings previous) {
+        if (previous == null) CURRENT.remove();
+        else CURRENT.set(previous);
+    }
+
+    /** Adds one occurrence of phase, taking `elapsedNanos`, to the request bound to this thread. */
+    public static void record(Phase phase, long elapsedNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) timings.add(phase, elapsedNanos);
+    }
+
+    public void add(Phase phase, long elapsedNanos) {
+        nanos.addAndGet(phase.ordinal(), elapsedNanos);
+        counts.incrementAndGet(phase.ordinal());
+    }
+
+    public long nanos(Phase phase) {
+        return nanos.get(phase.ordinal());
+    }
+
+    public long count(Phase phase) {
+        return counts.get(phase.ordinal());
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public boolean headerWanted() {
+        return !headerWritten && headerWanted.getAsBoolean();
+    }
+
+    /**
+     * The Server-Timing value for everything recorded so far, e.g.
+     * {@code auth;dur=0.12, db;dur=3.40;desc="SQL statements (7)", total;dur=9.81}, and marks it as sent.
+     */
+    public String header() {
+        headerWritten = true;
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : Phase.values()) {
+            long count = count(phase);
+            if (count == 0) continue;
+            header.append(phase.metric).append(";dur=").append(millis(nanos(phase)))
+                    .append(";desc=\"").append(phase.description);
+            if (count > 1) header.append(" (").append(count).append(')');
+            header.append("\", ");
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    public static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000d);
+    }
+}
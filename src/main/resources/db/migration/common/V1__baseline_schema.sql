@@ -0,0 +1,101 @@
+-- Schema as Hibernate (ddl-auto=update) left it before migrations took over: identity ids, no
+-- sequences, no optimistic locking and none of the outbox or event tables. Databases created that way
+-- are baselined at this version (spring.flyway.baseline-on-migrate) and skip this script; everything
+-- added since then comes in the later versions.
+-- Must stay portable between PostgreSQL and H2.
+
+create table users (
+    id bigint generated by default as identity,
+    password varchar(60),
+    email varchar(255) not null unique,
+    name varchar(255) not null,
+    role varchar(255) not null,
+    primary key (id)
+);
+
+create table expense_reports (
+    departure_date date,
+    per_diem_amount numeric(12,2),
+    per_diem_days integer,
+    per_diem_rate numeric(5,2),
+    return_date date,
+    total_amount numeric(12,2),
+    approved_at timestamp(6),
+    approver_id bigint,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    rejected_at timestamp(6),
+    submitter_id bigint,
+    approval_comment varchar(2000),
+    destination varchar(255),
+    status varchar(255),
+    title varchar(255) not null,
+    primary key (id),
+    constraint expense_reports_status_check check (status in ('DRAFT','SUBMITTED','FINANCE_SPECIAL_REVIEW',
+        'MANAGER_REVIEW','CFO_REVIEW','CEO_REVIEW','CFO_SPECIAL_REVIEW','CEO_SPECIAL_REVIEW','CHANGES_REQUESTED',
+        'APPROVED','REJECTED'))
+);
+
+create table expense_items (
+    amount numeric(12,2) not null,
+    date date not null,
+    expense_report_id bigint,
+    id bigint generated by default as identity,
+    description varchar(500) not null,
+    category varchar(255) not null,
+    primary key (id)
+);
+
+create table audit_logs (
+    actor_id bigint,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    report_id bigint,
+    comment varchar(2000),
+    action varchar(255),
+    actor_name varchar(255),
+    from_status varchar(255),
+    to_status varchar(255),
+    primary key (id)
+);
+
+create table special_reviews (
+    created_at timestamp(6),
+    decided_at timestamp(6),
+    id bigint generated by default as identity,
+    report_id bigint unique,
+    reviewer_id bigint,
+    reviewer_comment varchar(255),
+    status varchar(255),
+    primary key (id),
+    constraint special_reviews_status_check check (status in ('PENDING','APPROVED','REJECTED'))
+);
+
+create table special_review_items (
+    id bigint generated by default as identity,
+    review_id bigint,
+    employee_reason varchar(2000),
+    finance_reason varchar(2000),
+    code varchar(255),
+    finance_decision varchar(255),
+    message varchar(255),
+    primary key (id),
+    constraint special_review_items_finance_decision_check check (finance_decision in ('APPROVE','REJECT'))
+);
+
+create index idx_audit_logs_report_id on audit_logs (report_id);
+create index idx_audit_logs_created_at on audit_logs (created_at);
+create index idx_expense_items_report_id on expense_items (expense_report_id);
+create index idx_expense_reports_submitter_id on expense_reports (submitter_id);
+create index idx_expense_reports_status on expense_reports (status);
+create index idx_expense_reports_created_at on expense_reports (created_at);
+create index idx_special_reviews_report_id on special_reviews (report_id);
+
+-- Foreign key names are the ones Hibernate generated, so baselined databases match
+alter table audit_logs add constraint FK9brtrq8yen1i4q77bhpqkfa24 foreign key (report_id) references expense_reports;
+alter table expense_items add constraint FKpixo9tsa1530q0mafaqxpm3d6 foreign key (expense_report_id) references expense_reports;
+alter table expense_reports add constraint FKa0rh007k1kul26dfmfdfb8hv7 foreign key (approver_id) references users;
+alter table expense_reports add constraint FK45rg5uh8219eejgwx17i0e38g foreign key (submitter_id) references users;
+alter table special_review_items add constraint FKfua89wxyeaa1dxyrbdg4h595h foreign key (review_id) references special_reviews;
+alter table special_reviews add constraint FKe5oorbsmj5tx99dkd2mbphf5o foreign key (report_id) references expense_reports;
+alter table special_reviews add constraint FKgvdlw8st3cufu3be0bv0f5a0i foreign key (reviewer_id) references users;
@@ -0,0 +1,8 @@
+-- ddl-auto=update never rewrote the status CHECK constraint, so baselined databases can still carry
+-- one without the newer workflow statuses. Replaces the drop-and-recreate DbRepairService did on every
+-- boot. Any status added later needs a migration like this one.
+
+alter table expense_reports drop constraint if exists expense_reports_status_check;
+alter table expense_reports add constraint expense_reports_status_check check (status in ('DRAFT','SUBMITTED',
+    'FINANCE_SPECIAL_REVIEW','MANAGER_REVIEW','CFO_REVIEW','CEO_REVIEW','CFO_SPECIAL_REVIEW','CEO_SPECIAL_REVIEW',
+    'CHANGES_REQUESTED','APPROVED','REJECTED'));
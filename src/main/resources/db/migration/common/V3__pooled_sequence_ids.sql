@@ -0,0 +1,16 @@
+-- Entity ids come from pooled sequences (allocationSize 50) instead of identity columns, so Hibernate
+-- can batch inserts. The sequences start at 1 here; V4 (per database) moves them past existing ids.
+
+create sequence users_seq start with 1 increment by 50;
+create sequence expense_reports_seq start with 1 increment by 50;
+create sequence expense_items_seq start with 1 increment by 50;
+create sequence audit_logs_seq start with 1 increment by 50;
+create sequence special_reviews_seq start with 1 increment by 50;
+create sequence special_review_items_seq start with 1 increment by 50;
+
+alter table users alter column id drop identity;
+alter table expense_reports alter column id drop identity;
+alter table expense_items alter column id drop identity;
+alter table audit_logs alter column id drop identity;
+alter table special_reviews alter column id drop identity;
+alter table special_review_items alter column id drop identity;
@@ -0,0 +1,17 @@
+-- Audit entries are written to this outbox and flushed to audit_logs in batches. Ids come from
+-- audit_logs_seq, so a flushed row keeps its id.
+
+create table audit_log_outbox (
+    actor_id bigint,
+    created_at timestamp(6),
+    id bigint not null,
+    report_id bigint not null,
+    comment varchar(2000),
+    action varchar(255),
+    actor_name varchar(255),
+    from_status varchar(255),
+    to_status varchar(255),
+    primary key (id)
+);
+
+create index idx_audit_log_outbox_report_id on audit_log_outbox (report_id);
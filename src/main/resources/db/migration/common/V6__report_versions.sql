@@ -0,0 +1,5 @@
+-- Optimistic locking for workflow transitions (@Version) and the last-write time behind ETags and the
+-- compare-and-set claims. Existing reports start at version 0.
+
+alter table expense_reports add column version bigint default 0 not null;
+alter table expense_reports add column updated_at timestamp(6);
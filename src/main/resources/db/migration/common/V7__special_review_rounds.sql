@@ -0,0 +1,9 @@
+-- Special-review items are reconciled by warning code across resubmissions: each review counts its
+-- rounds, and each item records when it appeared, when it last changed and what triggered it.
+
+alter table special_reviews add column review_round integer default 1 not null;
+alter table special_reviews add column removed_codes varchar(2000);
+
+alter table special_review_items add column added_in_round integer default 1 not null;
+alter table special_review_items add column changed_in_round integer default 1 not null;
+alter table special_review_items add column evidence varchar(255);
@@ -0,0 +1,30 @@
+-- Workflow event log and the subscribers' positions in it (see ReportEventDispatcher). Events are
+-- delivered by seq, which the dispatcher assigns once an event has committed, not by the identity id,
+-- which becomes visible out of order.
+
+create table report_events (
+    actor_id bigint,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    report_id bigint not null,
+    seq bigint,
+    type varchar(40) not null,
+    comment varchar(2000),
+    from_status varchar(255),
+    to_status varchar(255),
+    primary key (id),
+    constraint report_events_type_check check (type in ('REPORT_CREATED','REPORT_UPDATED','REPORT_SUBMITTED',
+        'REPORT_FLAGGED','EXCEPTION_APPROVED','EXCEPTION_REJECTED','REPORT_ADVANCED','REPORT_APPROVED',
+        'REPORT_REJECTED','REPORT_DELETED'))
+);
+
+create unique index ux_report_events_seq on report_events (seq);
+
+create table event_checkpoints (
+    failures integer not null,
+    last_event_id bigint not null,
+    updated_at timestamp(6),
+    subscriber varchar(100) not null,
+    last_error varchar(2000),
+    primary key (subscriber)
+);
@@ -0,0 +1,8 @@
+-- Shared GCRA state for cluster-wide rate limits (JdbcRateLimitStore): one theoretical arrival time
+-- per limited key.
+
+create table rate_limit_buckets (
+    tat bigint not null,
+    bucket_key varchar(200) not null,
+    primary key (bucket_key)
+);
@@ -0,0 +1,9 @@
+-- Same as the PostgreSQL script: H2 has no setval, but takes an expression in RESTART WITH. The next
+-- nextval returns max(id) + 50, whose pooled block (V-49..V) starts right after the existing ids.
+
+alter sequence users_seq restart with (select coalesce(max(id), 0) + 50 from users);
+alter sequence expense_reports_seq restart with (select coalesce(max(id), 0) + 50 from expense_reports);
+alter sequence expense_items_seq restart with (select coalesce(max(id), 0) + 50 from expense_items);
+alter sequence audit_logs_seq restart with (select coalesce(max(id), 0) + 50 from audit_logs);
+alter sequence special_reviews_seq restart with (select coalesce(max(id), 0) + 50 from special_reviews);
+alter sequence special_review_items_seq restart with (select coalesce(max(id), 0) + 50 from special_review_items);
@@ -0,0 +1,11 @@
+-- Tables that predate the pooled sequences hold identity-generated ids, while their *_seq sequences
+-- were created at 1 (V3). Move each sequence past max(id) so the pooled optimizer (allocationSize 50,
+-- a fetched value V covers V-49..V) never hands out a taken id: the next nextval returns max(id) + 50.
+-- Replaces SequenceMigrationService.
+
+select setval('users_seq', greatest((select coalesce(max(id), 1) from users), (select last_value from users_seq)));
+select setval('expense_reports_seq', greatest((select coalesce(max(id), 1) from expense_reports), (select last_value from expense_reports_seq)));
+select setval('expense_items_seq', greatest((select coalesce(max(id), 1) from expense_items), (select last_value from expense_items_seq)));
+select setval('audit_logs_seq', greatest((select coalesce(max(id), 1) from audit_logs), (select last_value from audit_logs_seq)));
+select setval('special_reviews_seq', greatest((select coalesce(max(id), 1) from special_reviews), (select last_value from special_reviews_seq)));
+select setval('special_review_items_seq', greatest((select coalesce(max(id), 1) from special_review_items), (select last_value from special_review_items_seq)));
@@ -0,0 +1,69 @@
+package com.example.demo;
+
+import com.example.demo.util.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 20, 1.5, clock::get);
+
+    @Test
+    void refusesOverLimit_andReleaseIsIdempotent() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll();
+        assertThat(permits).hasSize(4);
+        assertThat(limiter.tryAcquire()).isNull();
+
+        permits.get(0).release();
+        permits.get(0).release();
+        assertThat(limiter.inFlight()).isEqualTo(3);
+        assertThat(limiter.stats().rejected()).isEqualTo(2);
+    }
+
+    @Test
+    void growsWhileLatencyHolds_andShrinksWhenItRises() {
+        for (int i = 0; i < 50; i++) {
+            runSaturated(10);
+        }
+        int grown = limiter.limit();
+        assertThat(grown).isGreaterThan(4);
+
+        // Latency jumps tenfold: the limit backs off before the long-term average catches up
+        for (int i = 0; i < 3; i++) {
+            runSaturated(100);
+        }
+        assertThat(limiter.limit()).isLessThanOrEqualTo(grown / 2).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void lightLoadDoesNotRaiseTheLimit() {
+        for (int i = 0; i < 200; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+            clock.addAndGet(10_000_000);
+            permit.release();
+        }
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+
+    // Fill the limit, let every request take rttMillis, then release them all
+    private void runSaturated(long rttMillis) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll();
+        clock.addAndGet(rttMillis * 1_000_000);
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquireAll() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire()) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+}
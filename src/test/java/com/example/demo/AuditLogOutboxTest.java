@@ -0,0 +1,64 @@
+package com.example.demo;
+
+import com.example.demo.dto.AuditLogResponse;
+import com.example.demo.dto.ExpenseItemCreateRequest;
+import com.example.demo.dto.ExpenseReportCreateRequest;
+import com.example.demo.repository.AuditLogOutboxRepository;
+import com.example.demo.repository.AuditLogRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.AuditLogFlusher;
+import com.example.demo.service.ExpenseReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Write-behind audit trail: entries are visible before and after the background flush,
+ * and keep their id when moved from the outbox into audit_logs.
+ */
+// Own database: the flushers of the other cached test contexts would otherwise drain this outbox
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:audit-outbox",
+        "app.audit.flush-interval-ms=3600000"
+})
+class AuditLogOutboxTest {
+
+    @Autowired ExpenseReportService expenseReportService;
+    @Autowired AuditLogFlusher auditLogFlusher;
+    @Autowired AuditLogOutboxRepository auditLogOutboxRepository;
+    @Autowired AuditLogRepository auditLogRepository;
+    @Autowired UserRepository userRepository;
+
+    @Test
+    void auditEntriesAreReadableBeforeAndAfterFlush() {
+        Long submitterId = userRepository.findByEmail("jun@example.com").orElseThrow().getId();
+
+        ExpenseItemCreateRequest item = new ExpenseItemCreateRequest();
+        item.setDate(LocalDate.now());
+        item.setDescription("Taxi");
+        item.setAmount(new BigDecimal("12.50"));
+        item.setCategory("Transportation");
+        ExpenseReportCreateRequest request = new ExpenseReportCreateRequest();
+        request.setSubmitterId(submitterId);
+        request.setTitle("Outbox");
+        request.setItems(List.of(item));
+        Long reportId = expenseReportService.createReport(request);
+
+        List<AuditLogResponse> before = expenseReportService.getAuditLog(reportId);
+        assertThat(before).extracting(AuditLogResponse::getAction).containsExactly("CREATED");
+        assertThat(auditLogOutboxRepository.findByReportIdOrderByIdAsc(reportId)).hasSize(1);
+
+        assertThat(auditLogFlusher.flush()).isGreaterThanOrEqualTo(1);
+
+        assertThat(auditLogOutboxRepository.count()).isZero();
+        assertThat(auditLogRepository.findByReportIdOrderByCreatedAtAsc(reportId)).hasSize(1);
+        List<AuditLogResponse> after = expenseReportService.getAuditLog(reportId);
+        assertThat(after).extracting(AuditLogResponse::getId).containsExactly(before.get(0).getId());
+    }
+}
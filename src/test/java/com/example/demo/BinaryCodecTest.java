@@ -0,0 +1,118 @@
+package com.example.demo;
+
+import com.example.demo.config.JwtUtil;
+import com.example.demo.domain.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ExpenseReportImportService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Accept: application/cbor or application/x-jackson-smile gets the same body as JSON, in binary form,
+ * from both plain and async (CompletableFuture) handlers.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryCodecTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired MockMvc mockMvc;
+    @Autowired JwtUtil jwtUtil;
+    @Autowired UserRepository userRepository;
+    @Autowired ExpenseReportImportService importService;
+    @Autowired Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    User submitter;
+    String bearer;
+    String tag;
+    Long reportId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        submitter = userRepository.findByEmail("jun@example.com").orElseThrow();
+        bearer = "Bearer " + jwtUtil.generateToken(submitter.getId(), submitter.getName(), submitter.getEmail(), "EMPLOYEE");
+        tag = "codec-" + UUID.randomUUID();
+        String ndjson = "{\"submitterId\":" + submitter.getId() + ",\"title\":\"" + tag + "\",\"items\":["
+                + "{\"date\":\"2026-04-01\",\"description\":\"Taxi\",\"amount\":20.50,\"category\":\"Transportation\"}]}\n";
+        reportId = importService.importReports(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))
+                .getResults().get(0).getReportId();
+    }
+
+    @Test
+    void reportDetail_isNegotiatedAsCborAndSmile() throws Exception {
+        MockHttpServletRequestBuilder detail = get("/api/expense-reports/" + reportId).header("Authorization", bearer);
+
+        JsonNode json = decode(new JsonFactory(), mockMvc.perform(detail.accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn(), MediaType.APPLICATION_JSON);
+        assertThat(json.get("title").asText()).isEqualTo(tag);
+        assertThat(json.get("createdAt").isTextual()).isTrue();
+
+        for (MediaType type : new MediaType[]{CBOR, SMILE}) {
+            MvcResult result = mockMvc.perform(detail.accept(type)).andExpect(status().isOk()).andReturn();
+            assertThat(decode(factory(type), result, type)).isEqualTo(json);
+        }
+    }
+
+    @Test
+    void asyncSearch_isNegotiatedAsCborAndSmile() throws Exception {
+        JsonNode json = decode(new JsonFactory(), search(MediaType.APPLICATION_JSON), MediaType.APPLICATION_JSON);
+        assertThat(json.get("content")).hasSize(1);
+        assertThat(json.get("content").get(0).get("id").asLong()).isEqualTo(reportId);
+
+        for (MediaType type : new MediaType[]{CBOR, SMILE}) {
+            assertThat(decode(factory(type), search(type), type)).isEqualTo(json);
+        }
+    }
+
+    private MvcResult search(MediaType accept) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/expense-reports/search")
+                        .param("requesterId", submitter.getId().toString()).param("requesterRole", "EMPLOYEE")
+                        .param("q", tag).param("page", "0")
+                        .header("Authorization", bearer)
+                        .accept(accept))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    /** Reads the body with the ObjectMapper for its format, built like the app's own converters. */
+    private JsonNode decode(JsonFactory factory, MvcResult result, MediaType expected) throws Exception {
+        assertThat(MediaType.parseMediaType(result.getResponse().getContentType()).isCompatibleWith(expected)).isTrue();
+        ObjectMapper mapper = objectMapperBuilder.factory(factory).build();
+        // Binary formats keep BigDecimal as a decimal; read JSON the same way so the trees compare equal
+        mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        return mapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    private static JsonFactory factory(MediaType type) {
+        return CBOR.equals(type) ? new CBORFactory() : new SmileFactory();
+    }
+}
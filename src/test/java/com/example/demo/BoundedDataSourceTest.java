@@ -0,0 +1,51 @@
+package com.example.demo;
+
+import com.example.demo.config.BoundedDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BoundedDataSourceTest {
+
+    @Test
+    void failsFastWhenAllPermitsAreOut_andCloseReturnsThePermitOnce() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        Connection physical = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(physical);
+        var bounded = new BoundedDataSource(pool, 2, Duration.ofMillis(10));
+
+        Connection first = bounded.getConnection();
+        Connection second = bounded.getConnection();
+        assertThatThrownBy(bounded::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Database busy");
+
+        first.close();
+        first.close();
+        verify(physical, times(2)).close();
+        assertThat(bounded.availablePermits()).isEqualTo(1);
+
+        second.close();
+        assertThat(bounded.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void permitIsReturnedWhenThePoolFails() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+        var bounded = new BoundedDataSource(pool, 1, Duration.ofMillis(10));
+
+        assertThatThrownBy(bounded::getConnection).hasMessage("pool timeout");
+        assertThat(bounded.availablePermits()).isEqualTo(1);
+    }
+}
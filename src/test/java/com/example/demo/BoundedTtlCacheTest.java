@@ -0,0 +1,84 @@
+package com.example.demo;
+
+import com.example.demo.util.BoundedTtlCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedTtlCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Optional<String> load(Long key) {
+        loads.incrementAndGet();
+        return key < 0 ? Optional.empty() : Optional.of("v" + key);
+    }
+
+    @Test
+    void hitsUntilTtlExpires() {
+        var cache = new BoundedTtlCache<Long, String>(10, Duration.ofSeconds(5), clock::get);
+
+        assertThat(cache.get(1L, this::load)).contains("v1");
+        assertThat(cache.get(1L, this::load)).contains("v1");
+        assertThat(loads).hasValue(1);
+
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        cache.get(1L, this::load);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAndSkipsMisses() {
+        var cache = new BoundedTtlCache<Long, String>(2, Duration.ofMinutes(1), clock::get);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(1L, this::load);      // 1 is now most recent
+        cache.get(3L, this::load);      // evicts 2
+        cache.get(-1L, this::load);     // not found: not cached
+
+        assertThat(cache.stats().size()).isEqualTo(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        int before = loads.get();
+        cache.get(1L, this::load);
+        assertThat(loads).hasValue(before);
+        cache.get(2L, this::load);
+        assertThat(loads).hasValue(before + 1);
+    }
+
+    @Test
+    void loadOverlappingInvalidationIsNotCached() {
+        var cache = new BoundedTtlCache<Long, String>(10, Duration.ofMinutes(1), clock::get);
+
+        Optional<String> stale = cache.get(1L, k -> {
+            cache.invalidateAll();      // e.g. a reset committed while this lookup was in flight
+            return Optional.of("stale");
+        });
+
+        assertThat(stale).contains("stale");
+        assertThat(cache.get(1L, this::load)).contains("v1");
+    }
+
+    @Test
+    void perEntryTtlIsCappedByCacheTtl() {
+        var cache = new BoundedTtlCache<Long, String>(10, Duration.ofMinutes(1), clock::get);
+        cache.put(1L, "short", Duration.ofSeconds(2));
+        cache.put(2L, "long", Duration.ofHours(1));
+        cache.put(3L, "expired", Duration.ofSeconds(-1));
+
+        clock.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertThat(cache.getIfPresent(1L)).isEmpty();
+        assertThat(cache.getIfPresent(2L)).contains("long");
+        assertThat(cache.getIfPresent(3L)).isEmpty();
+
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThat(cache.getIfPresent(2L)).isEmpty();
+    }
+}
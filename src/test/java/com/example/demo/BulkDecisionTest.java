@@ -0,0 +1,138 @@
+package com.example.demo;
+
+import com.example.demo.dto.BulkDecisionRequest;
+import com.example.demo.dto.BulkDecisionResponse;
+import com.example.demo.dto.BulkImportResponse;
+import com.example.demo.repository.ExpenseReportRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ExpenseReportBulkDecisionService;
+import com.example.demo.service.ExpenseReportImportService;
+import com.example.demo.service.ExpenseReportService;
+import com.example.demo.service.ReportEventPublisher;
+import com.example.demo.service.SequenceIdAllocator;
+import com.example.demo.service.UserDirectory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Bulk approve of a 500-report manager queue: per-report outcomes and audit entries, and how an
+ * inconclusive batch result is resolved.
+ */
+@SpringBootTest
+class BulkDecisionTest {
+
+    @Autowired ExpenseReportBulkDecisionService bulkDecisionService;
+    @Autowired ExpenseReportImportService importService;
+    @Autowired ExpenseReportService expenseReportService;
+    @Autowired UserRepository userRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired ExpenseReportRepository expenseReportRepository;
+    @Autowired UserDirectory userDirectory;
+    @Autowired SequenceIdAllocator sequenceIdAllocator;
+    @Autowired ReportEventPublisher reportEventPublisher;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void bulkApprove_fiveHundredReports() throws Exception {
+        Long submitterId = userRepository.findByEmail("jun@example.com").orElseThrow().getId();
+        Long managerId = userRepository.findByEmail("manager@example.com").orElseThrow().getId();
+
+        List<Long> ids = queue(submitterId, 500);
+        List<Long> request = new ArrayList<>(ids);
+        request.add(-1L);
+
+        BulkDecisionResponse response = decide(managerId, request);
+
+        assertThat(response.getDecided()).isEqualTo(500);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(500).getError()).contains("not found");
+
+        assertThat(jdbcTemplate.queryForObject("select status from expense_reports where id = ?", String.class, ids.get(0)))
+                .isEqualTo("CFO_REVIEW");
+        assertThat(expenseReportService.getAuditLog(ids.get(0)))
+                .extracting(a -> a.getAction())
+                .containsExactly("CREATED", "MANAGER_APPROVED");
+
+        // A second pass finds nothing left in the manager queue
+        BulkDecisionResponse again = decide(managerId, ids.subList(0, 10));
+        assertThat(again.getDecided()).isZero();
+    }
+
+    @Test
+    void successNoInfo_isResolvedByReadingTheRowsBack() throws Exception {
+        Long submitterId = userRepository.findByEmail("jun@example.com").orElseThrow().getId();
+        Long managerId = userRepository.findByEmail("manager@example.com").orElseThrow().getId();
+        List<Long> ids = queue(submitterId, 3);
+        Long raced = ids.get(1);
+
+        // A driver that reports SUCCESS_NO_INFO for every statement, and a concurrent approval of one
+        // report landing between the candidate read and the CAS batch
+        JdbcTemplate noInfo = spy(jdbcTemplate);
+        doAnswer(inv -> {
+            if (((String) inv.getArgument(0)).startsWith("update expense_reports")) {
+                jdbcTemplate.update("update expense_reports set status = 'CFO_REVIEW', version = version + 1 where id = ?", raced);
+            }
+            int[][] counts = (int[][]) inv.callRealMethod();
+            for (int[] batch : counts) Arrays.fill(batch, Statement.SUCCESS_NO_INFO);
+            return counts;
+        }).when(noInfo).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        var service = new ExpenseReportBulkDecisionService(expenseReportRepository, userDirectory, noInfo,
+                sequenceIdAllocator, reportEventPublisher);
+
+        BulkDecisionRequest req = new BulkDecisionRequest();
+        req.setApproverId(managerId);
+        req.setDecision("APPROVE");
+        req.setReportIds(ids);
+        BulkDecisionResponse response = new TransactionTemplate(transactionManager).execute(tx -> service.decide(req));
+
+        assertThat(response.getResults()).extracting(BulkDecisionResponse.ReportResult::getStatus)
+                .containsExactly("DECIDED", "FAILED", "DECIDED");
+        assertThat(expenseReportService.getAuditLog(raced))
+                .extracting(a -> a.getAction())
+                .containsExactly("CREATED");
+    }
+
+    private BulkDecisionResponse decide(Long approverId, List<Long> ids) {
+        BulkDecisionRequest req = new BulkDecisionRequest();
+        req.setApproverId(approverId);
+        req.setDecision("APPROVE");
+        req.setReportIds(ids);
+        return bulkDecisionService.decide(req);
+    }
+
+    /** Imports n drafts and moves them into MANAGER_REVIEW. */
+    private List<Long> queue(Long submitterId, int n) throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            ndjson.append("{\"submitterId\":").append(submitterId)
+                    .append(",\"title\":\"Queue ").append(i)
+                    .append("\",\"items\":[{\"date\":\"2026-01-05\",\"description\":\"Taxi\",\"amount\":20,\"category\":\"Transportation\"}]}\n");
+        }
+        BulkImportResponse imported = importService.importReports(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+        List<Long> ids = imported.getResults().stream().map(BulkImportResponse.RecordResult::getReportId).toList();
+        jdbcTemplate.batchUpdate("update expense_reports set status = 'MANAGER_REVIEW' where id = ?", ids, ids.size(),
+                (ps, id) -> ps.setLong(1, id));
+        return ids;
+    }
+}
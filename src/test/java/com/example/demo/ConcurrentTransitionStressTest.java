@@ -0,0 +1,122 @@
+package com.example.demo;
+
+import com.example.demo.domain.ExpenseReportStatus;
+import com.example.demo.dto.ApprovalRequest;
+import com.example.demo.dto.ExpenseItemCreateRequest;
+import com.example.demo.dto.ExpenseReportCreateRequest;
+import com.example.demo.dto.SubmitRequest;
+import com.example.demo.repository.ExpenseReportRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ExpenseReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races approve/reject calls against the same reports and checks that no two calls transition a
+ * report from the same state: every success shows up as exactly one audit entry and one version bump.
+ */
+@SpringBootTest
+class ConcurrentTransitionStressTest {
+
+    private static final int REPORTS = 20;
+    private static final int CONTENDERS_PER_REPORT = 16;
+    private static final int THREADS = 32;
+
+    @Autowired ExpenseReportService expenseReportService;
+    @Autowired ExpenseReportRepository expenseReportRepository;
+    @Autowired UserRepository userRepository;
+
+    @Test
+    void concurrentDecisions_exactlyOneWinsPerReport() throws Exception {
+        Long submitterId = userRepository.findByEmail("jun@example.com").orElseThrow().getId();
+        Long managerId = userRepository.findByEmail("manager@example.com").orElseThrow().getId();
+
+        List<Long> reportIds = new ArrayList<>();
+        Map<Long, Long> versionBefore = new ConcurrentHashMap<>();
+        for (int i = 0; i < REPORTS; i++) {
+            Long id = expenseReportService.createReport(report(submitterId, "Stress " + i));
+            SubmitRequest submit = new SubmitRequest();
+            submit.setSubmitterId(submitterId);
+            assertThat(expenseReportService.submitReport(id, submit)).isEqualTo(ExpenseReportStatus.MANAGER_REVIEW);
+            reportIds.add(id);
+            versionBefore.put(id, expenseReportRepository.findById(id).orElseThrow().getVersion());
+        }
+
+        Map<Long, AtomicInteger> wins = new ConcurrentHashMap<>();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < CONTENDERS_PER_REPORT; c++) {
+            boolean approve = c % 2 == 0;
+            for (Long id : reportIds) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    ApprovalRequest req = new ApprovalRequest();
+                    req.setApproverId(managerId);
+                    req.setComment("race");
+                    try {
+                        if (approve) expenseReportService.approveReport(id, req);
+                        else expenseReportService.rejectReport(id, req);
+                        wins.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+                    } catch (ConcurrencyFailureException e) {
+                        // lost the CAS
+                    } catch (IllegalStateException e) {
+                        // loaded after the winner committed: status check rejects it
+                    } catch (Throwable t) {
+                        unexpected.add(t);
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertThat(unexpected).isEmpty();
+        for (Long id : reportIds) {
+            int won = wins.getOrDefault(id, new AtomicInteger()).get();
+            var decisions = expenseReportService.getAuditLog(id).stream()
+                    .filter(a -> a.getAction().equals("MANAGER_APPROVED") || a.getAction().equals("REJECTED"))
+                    .toList();
+
+            // Exactly one call moved the report out of MANAGER_REVIEW. A reject that loaded the
+            // report after an approval committed may legitimately follow from CFO_REVIEW.
+            assertThat(decisions).filteredOn(a -> "MANAGER_REVIEW".equals(a.getFromStatus())).hasSize(1);
+            assertThat(decisions).hasSize(won);
+            for (int i = 1; i < decisions.size(); i++) {
+                assertThat(decisions.get(i).getFromStatus()).isEqualTo(decisions.get(i - 1).getToStatus());
+            }
+
+            var report = expenseReportRepository.findById(id).orElseThrow();
+            assertThat(report.getStatus().name()).isEqualTo(decisions.get(decisions.size() - 1).getToStatus());
+            assertThat(report.getVersion()).isEqualTo(versionBefore.get(id) + won);
+        }
+    }
+
+    private static ExpenseReportCreateRequest report(Long submitterId, String title) {
+        ExpenseItemCreateRequest item = new ExpenseItemCreateRequest();
+        item.setDate(LocalDate.now());
+        item.setDescription("Taxi");
+        item.setAmount(new BigDecimal("20.00"));
+        item.setCategory("Transportation");
+        ExpenseReportCreateRequest request = new ExpenseReportCreateRequest();
+        request.setSubmitterId(submitterId);
+        request.setTitle(title);
+        request.setItems(List.of(item));
+        return request;
+    }
+}
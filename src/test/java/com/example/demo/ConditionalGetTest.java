@@ -0,0 +1,89 @@
+package com.example.demo;
+
+import com.example.demo.config.JwtUtil;
+import com.example.demo.domain.User;
+import com.example.demo.dto.ExpenseItemPatchRequest;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ExpenseReportImportService;
+import com.example.demo.service.ExpenseReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Report details and audit logs answer If-None-Match with 304 until the report is written again;
+ * they send no Last-Modified.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired JwtUtil jwtUtil;
+    @Autowired UserRepository userRepository;
+    @Autowired ExpenseReportImportService importService;
+    @Autowired ExpenseReportService expenseReportService;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void etagsChangeOnlyWhenTheReportIsWritten() throws Exception {
+        User submitter = userRepository.findByEmail("jun@example.com").orElseThrow();
+        String bearer = "Bearer " + jwtUtil.generateToken(submitter.getId(), submitter.getName(), submitter.getEmail(), "EMPLOYEE");
+        String ndjson = "{\"submitterId\":" + submitter.getId() + ",\"title\":\"Etag\",\"items\":["
+                + "{\"date\":\"2026-04-01\",\"description\":\"Taxi\",\"amount\":20,\"category\":\"Transportation\"}]}\n";
+        Long reportId = importService.importReports(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))
+                .getResults().get(0).getReportId();
+        String detail = "/api/expense-reports/" + reportId;
+        String auditLog = detail + "/audit-log";
+
+        String reportTag = mockMvc.perform(get(detail).header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+        String auditTag = mockMvc.perform(get(auditLog).header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(reportTag).startsWith("W/\"");
+        assertThat(auditTag).isNotNull();
+
+        mockMvc.perform(get(detail).header("Authorization", bearer).header("If-None-Match", reportTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(auditLog).header("Authorization", bearer).header("If-None-Match", auditTag))
+                .andExpect(status().isNotModified());
+
+        // If-Modified-Since alone cannot answer 304: a second edit in the same second would look unchanged
+        mockMvc.perform(get(detail).header("Authorization", bearer).header("If-Modified-Since", "Fri, 01 Jan 2100 00:00:00 GMT"))
+                .andExpect(status().isOk());
+
+        // A description-only change leaves the total alone but still moves the version
+        Long itemId = jdbcTemplate.queryForObject("select id from expense_items where expense_report_id = ?", Long.class, reportId);
+        ExpenseItemPatchRequest patch = new ExpenseItemPatchRequest();
+        patch.setDescription("Airport taxi");
+        expenseReportService.patchItem(reportId, itemId, submitter.getId(), patch);
+
+        String newReportTag = mockMvc.perform(get(detail).header("Authorization", bearer).header("If-None-Match", reportTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(newReportTag).isNotEqualTo(reportTag);
+        mockMvc.perform(get(auditLog).header("Authorization", bearer).header("If-None-Match", auditTag))
+                .andExpect(status().isOk());
+
+        // Seen as of now: unchanged again
+        mockMvc.perform(get(detail).header("Authorization", bearer).header("If-None-Match", newReportTag))
+                .andExpect(status().isNotModified());
+        assertThat(jdbcTemplate.queryForObject("select total_amount from expense_reports where id = ?", BigDecimal.class, reportId))
+                .isEqualByComparingTo("20");
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo;
+
+import com.example.demo.dto.ExpenseItemCreateRequest;
+import com.example.demo.dto.ExpenseReportCreateRequest;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ExpenseReportService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round-trip benchmark for createReport: counts JDBC statements Hibernate prepares
+ * (≈ round trips; a JDBC batch is one) for a report with 20 line items.
+ *
+ * Measured on H2: 23 with IDENTITY ids (1 user select + 1 report + 20 items + 1 audit),
+ * 6 with pooled sequences and jdbc batching (user select, sequence block fetches, 3 batched inserts).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CreateReportRoundTripTest {
+
+    @Autowired ExpenseReportService expenseReportService;
+    @Autowired UserRepository userRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void createReportWithTwentyItems_batchesInserts() {
+        Long submitterId = userRepository.findByEmail("jun@example.com").orElseThrow().getId();
+
+        List<ExpenseItemCreateRequest> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ExpenseItemCreateRequest item = new ExpenseItemCreateRequest();
+            item.setDate(LocalDate.now().minusDays(i));
+            item.setDescription("Taxi " + i);
+            item.setAmount(new BigDecimal("12.50"));
+            item.setCategory("Transportation");
+            items.add(item);
+        }
+        ExpenseReportCreateRequest request = new ExpenseReportCreateRequest();
+        request.setSubmitterId(submitterId);
+        request.setTitle("Round trip benchmark");
+        request.setItems(items);
+
+        // Warm up the sequence pools so the measured call reflects steady state.
+        expenseReportService.createReport(request);
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        expenseReportService.createReport(request);
+        long roundTrips = stats.getPrepareStatementCount();
+
+        assertThat(roundTrips).isLessThanOrEqualTo(8);
+    }
+}
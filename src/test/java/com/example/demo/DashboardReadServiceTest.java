@@ -0,0 +1,39 @@
+package com.example.demo;
+
+import com.example.demo.dto.DashboardResponse;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.DashboardReadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The composite dashboard is assembled from reads that run on the dashboard pool, each in its own
+ * read-only transaction.
+ */
+@SpringBootTest
+class DashboardReadServiceTest {
+
+    @Autowired DashboardReadService dashboardReadService;
+    @Autowired UserRepository userRepository;
+
+    @Test
+    void gathersAllSectionsConcurrently() throws Exception {
+        Long managerId = userRepository.findByEmail("manager@example.com").orElseThrow().getId();
+        Long employeeId = userRepository.findByEmail("jun@example.com").orElseThrow().getId();
+
+        DashboardResponse manager = dashboardReadService.dashboard(managerId, "MANAGER", 5).get(10, TimeUnit.SECONDS);
+        assertThat(manager.getStats()).isNotNull();
+        assertThat(manager.getActivity()).hasSizeLessThanOrEqualTo(5);
+        assertThat(manager.getPendingApproval()).isNotNull();
+        assertThat(manager.getRecentReports()).isNotNull();
+
+        DashboardResponse employee = dashboardReadService.dashboard(employeeId, "EMPLOYEE", 5).get(10, TimeUnit.SECONDS);
+        assertThat(employee.getPendingApproval()).isNull();
+        assertThat(employee.getRecentReports()).isNotNull();
+    }
+}
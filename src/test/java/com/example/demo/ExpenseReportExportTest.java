@@ -0,0 +1,96 @@
+package com.example.demo;
+
+import com.example.demo.exception.OverloadedException;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ExpenseReportExportService;
+import com.example.demo.service.ExpenseReportImportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exports stream the search results with their items: CSV one row per item, NDJSON one line per report.
+ */
+@SpringBootTest
+class ExpenseReportExportTest {
+
+    @Autowired ExpenseReportExportService exportService;
+    @Autowired ExpenseReportImportService importService;
+    @Autowired UserRepository userRepository;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired DataSource dataSource;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void exportsReportsWithTheirItems() throws Exception {
+        Long submitterId = userRepository.findByEmail("jun@example.com").orElseThrow().getId();
+        String ndjson = "{\"submitterId\":" + submitterId + ",\"title\":\"Export, \\\"quoted\\\"\",\"items\":["
+                + "{\"date\":\"2026-05-01\",\"description\":\"=HYPERLINK()\",\"amount\":12.50,\"category\":\"Meals\"},"
+                + "{\"date\":\"2026-05-02\",\"description\":\"Train\",\"amount\":30,\"category\":\"Travel\"}]}\n";
+        importService.importReports(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+        var query = exportService.query(submitterId, "EMPLOYEE", "export, \"quoted", null, null, null, null);
+
+        List<String> csv = lines(export(query, ExpenseReportExportService.Format.CSV, false));
+        assertThat(csv).hasSize(3);
+        assertThat(csv.get(0)).startsWith("report_id,title,status");
+        assertThat(csv.get(1)).contains(",\"Export, \"\"quoted\"\"\",DRAFT,").contains(",'=HYPERLINK(),12.50,Meals");
+        assertThat(csv.get(2)).contains(",Train,30.00,Travel");
+
+        List<String> lines = lines(export(query, ExpenseReportExportService.Format.NDJSON, true));
+        assertThat(lines).hasSize(1);
+        JsonNode report = objectMapper.readTree(lines.get(0));
+        assertThat(report.get("title").asText()).isEqualTo("Export, \"quoted\"");
+        assertThat(report.get("items")).hasSize(2);
+        assertThat(report.get("items").get(0).get("amount").decimalValue()).isEqualByComparingTo("12.50");
+    }
+
+    @Test
+    void exportThatNeverStarts_freesItsSlotOnRelease() throws Exception {
+        var limited = new ExpenseReportExportService(dataSource, transactionManager, objectMapper, 500, 2, Duration.ofMinutes(1));
+        var query = limited.query(1L, "EMPLOYEE", null, null, null, null, null);
+        var timedOut = limited.start(query, ExpenseReportExportService.Format.CSV, false);
+        var written = limited.start(query, ExpenseReportExportService.Format.CSV, false);
+        assertThatThrownBy(() -> limited.start(query, ExpenseReportExportService.Format.CSV, false))
+                .isInstanceOf(OverloadedException.class);
+
+        // What the request's completion listener does when the body task never ran
+        timedOut.release();
+        written.writeTo(new ByteArrayOutputStream());
+        written.release();
+
+        limited.start(query, ExpenseReportExportService.Format.CSV, false);
+        limited.start(query, ExpenseReportExportService.Format.CSV, false);
+        // Releasing twice did not hand out a third slot
+        assertThatThrownBy(() -> limited.start(query, ExpenseReportExportService.Format.CSV, false))
+                .isInstanceOf(OverloadedException.class);
+    }
+
+    private byte[] export(ExpenseReportExportService.Query query, ExpenseReportExportService.Format format, boolean gzip) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.start(query, format, gzip).writeTo(out);
+        if (!gzip) return out.toByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static List<String> lines(byte[] body) {
+        return Arrays.asList(new String(body, StandardCharsets.UTF_8).split("\r?\n"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.demo;
+
+import com.example.demo.dto.BulkImportResponse;
+import com.example.demo.dto.BulkImportResponse.RecordResult;
+import com.example.demo.dto.ExpenseItemCreateRequest;
+import com.example.demo.dto.ExpenseReportCreateRequest;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ExpenseReportImportService;
+import com.example.demo.service.ExpenseReportService;
+import com.example.demo.service.ReportEventPublisher;
+import com.example.demo.service.SequenceIdAllocator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Bulk import: per-record failures, chunk rollback, and the JSON array and NDJSON input paths.
+ */
+@SpringBootTest
+class ExpenseReportImportTest {
+
+    @Autowired ExpenseReportImportService importService;
+    @Autowired ExpenseReportService expenseReportService;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired Validator validator;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired SequenceIdAllocator sequenceIdAllocator;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired UserRepository userRepository;
+
+    Long submitterId;
+    String tag;
+
+    @BeforeEach
+    void setUp() {
+        submitterId = userRepository.findByEmail("jun@example.com").orElseThrow().getId();
+        tag = "import-" + UUID.randomUUID();
+    }
+
+    @Test
+    void ndjson_reportsFailuresPerRecordAndImportsTheRest() throws Exception {
+        BulkImportResponse response = importService.importReports(body(String.join("\n", mixedRecords()) + "\n"));
+
+        assertMixedOutcome(response);
+    }
+
+    @Test
+    void jsonArray_givesTheSameResultsAsNdjson() throws Exception {
+        BulkImportResponse response = importService.importReports(body("[" + String.join(",", mixedRecords()) + "]"));
+
+        assertMixedOutcome(response);
+    }
+
+    @Test
+    void failingChunk_rollsBackAloneAndReportsEachRecord() throws Exception {
+        ReportEventPublisher publisher = mock(ReportEventPublisher.class);
+        doThrow(new IllegalStateException("event store unavailable")).doNothing().when(publisher).publishAll(anyList());
+        ExpenseReportImportService chunked = new ExpenseReportImportService(objectMapper, validator,
+                jdbcTemplate, sequenceIdAllocator, transactionManager, userRepository, publisher, 2);
+
+        BulkImportResponse response = chunked.importReports(body(String.join("\n",
+                record(submitterId, "r0", 20), record(submitterId, "r1", 20),
+                record(submitterId, "r2", 20), record(submitterId, "r3", 20))));
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(RecordResult::getStatus)
+                .containsExactly("FAILED", "FAILED", "IMPORTED", "IMPORTED");
+        assertThat(response.getResults().get(0).getError()).isEqualTo("Chunk rolled back: event store unavailable");
+        // Nothing of the first chunk is left behind: no reports, hence no items or audit entries either
+        assertThat(jdbcTemplate.queryForList("select title from expense_reports where title like ? order by title",
+                String.class, tag + "%")).containsExactly(tag + " r2", tag + " r3");
+    }
+
+    @Test
+    void importedIds_interleaveWithJpaIdsWithoutCollisions() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            // 60 records span more than one block of 50 ids
+            String ndjson = String.join("\n", Collections.nCopies(60, record(submitterId, "block", 20)));
+            importService.importReports(body(ndjson)).getResults().forEach(r -> ids.add(r.getReportId()));
+            ids.add(expenseReportService.createReport(createRequest()));
+        }
+
+        assertThat(ids).hasSize(183).doesNotHaveDuplicates().allMatch(id -> id > 0);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from expense_reports where title like ?",
+                Integer.class, tag + "%")).isEqualTo(183);
+    }
+
+    private void assertMixedOutcome(BulkImportResponse response) {
+        assertThat(response.getTotal()).isEqualTo(5);
+        assertThat(response.getImported()).isEqualTo(2);
+        List<RecordResult> results = response.getResults();
+        assertThat(results).extracting(RecordResult::getStatus)
+                .containsExactly("IMPORTED", "FAILED", "FAILED", "FAILED", "IMPORTED");
+        assertThat(results.get(1).getError()).isEqualTo("User not found: -1");
+        assertThat(results.get(2).getError()).isEqualTo("items[0].amount: Amount must be greater than 0");
+        assertThat(results.get(3).getError()).startsWith("items: ");
+
+        Long reportId = results.get(0).getReportId();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from expense_items where expense_report_id = ?",
+                Integer.class, reportId)).isEqualTo(1);
+        assertThat(expenseReportService.getAuditLog(reportId))
+                .extracting(a -> a.getAction())
+                .containsExactly("CREATED");
+    }
+
+    private List<String> mixedRecords() {
+        return List.of(
+                record(submitterId, "ok", 20),
+                record(-1L, "unknown submitter", 20),
+                record(submitterId, "negative amount", -5),
+                "{\"submitterId\":" + submitterId + ",\"title\":\"" + tag + " no items\",\"items\":[]}",
+                record(submitterId, "ok again", 35));
+    }
+
+    private String record(Long submitter, String title, int amount) {
+        return "{\"submitterId\":" + submitter + ",\"title\":\"" + tag + " " + title + "\","
+                + "\"items\":[{\"date\":\"2026-01-05\",\"description\":\"Taxi\",\"amount\":" + amount
+                + ",\"category\":\"Transportation\"}]}";
+    }
+
+    private ExpenseReportCreateRequest createRequest() {
+        ExpenseItemCreateRequest item = new ExpenseItemCreateRequest();
+        item.setDate(LocalDate.of(2026, 1, 5));
+        item.setDescription("Taxi");
+        item.setAmount(new BigDecimal("20"));
+        item.setCategory("Transportation");
+        ExpenseReportCreateRequest request = new ExpenseReportCreateRequest();
+        request.setSubmitterId(submitterId);
+        request.setTitle(tag + " created");
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private static ByteArrayInputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
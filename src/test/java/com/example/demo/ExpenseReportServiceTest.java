@@ -5,11 +5,17 @@ import com.example.demo.dto.ApprovalRequest;
 import com.example.demo.dto.ExpenseItemCreateRequest;
 import com.example.demo.dto.ExpenseReportCreateRequest;
 import com.example.demo.dto.SubmitRequest;
+import com.example.demo.dto.ExpenseItemPatchRequest;
+import com.example.demo.dto.ExpenseReportUpdateRequest;
+import com.example.demo.repository.AuditLogOutboxRepository;
 import com.example.demo.repository.AuditLogRepository;
+import com.example.demo.repository.ExpenseItemRepository;
 import com.example.demo.repository.ExpenseReportRepository;
 import com.example.demo.repository.SpecialReviewRepository;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.service.ExpenseReportService;
+import com.example.demo.service.ReportEventPublisher;
+import com.example.demo.service.UserDirectory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -22,6 +28,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -35,7 +42,11 @@ class ExpenseReportServiceTest {
     @Mock ExpenseReportRepository expenseReportRepository;
     @Mock SpecialReviewRepository specialReviewRepository;
     @Mock AuditLogRepository auditLogRepository;
+    @Mock AuditLogOutboxRepository auditLogOutboxRepository;
     @Mock UserRepository userRepository;
+    @Mock ExpenseItemRepository expenseItemRepository;
+    @Mock UserDirectory userDirectory;
+    @Mock ReportEventPublisher reportEventPublisher;
 
     @InjectMocks ExpenseReportService service;
 
@@ -53,6 +64,10 @@ class ExpenseReportServiceTest {
         return User.builder().id(id).name("CFO").email("cfo@test.com").role("CFO").build();
     }
 
+    private UserDirectory.CachedUser cached(User u) {
+        return new UserDirectory.CachedUser(u.getId(), u.getName(), u.getEmail(), u.getRole(), null);
+    }
+
     private ExpenseReport draftReport(long reportId, User submitter) {
         ExpenseReport r = ExpenseReport.builder()
                 .id(reportId)
@@ -77,7 +92,7 @@ class ExpenseReportServiceTest {
     @Test
     void createReport_savesAndReturnsId() {
         User submitter = employee(1L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(submitter));
+        when(userDirectory.findById(1L)).thenReturn(Optional.of(cached(submitter)));
 
         ExpenseReport saved = ExpenseReport.builder().id(42L).submitter(submitter).title("Test").build();
         when(expenseReportRepository.save(any())).thenReturn(saved);
@@ -107,6 +122,8 @@ class ExpenseReportServiceTest {
         when(expenseReportRepository.findById(10L)).thenReturn(Optional.of(report));
         when(specialReviewRepository.findByReportId(10L)).thenReturn(Optional.empty());
         when(expenseReportRepository.save(any())).thenReturn(report);
+        when(expenseReportRepository.claimTransition(10L, ExpenseReportStatus.DRAFT, null)).thenReturn(1);
+        when(userDirectory.findById(1L)).thenReturn(Optional.of(cached(submitter)));
 
         SubmitRequest req = new SubmitRequest();
         req.setSubmitterId(1L);
@@ -128,7 +145,7 @@ class ExpenseReportServiceTest {
 
         when(expenseReportRepository.findById(10L)).thenReturn(Optional.of(report));
         // Return the exact same object reference — identity equals → self-approval
-        when(userRepository.findById(1L)).thenReturn(Optional.of(submitter));
+        when(userDirectory.findById(1L)).thenReturn(Optional.of(cached(submitter)));
 
         ApprovalRequest req = new ApprovalRequest();
         req.setApproverId(1L);
@@ -147,7 +164,7 @@ class ExpenseReportServiceTest {
                 .build();
 
         when(expenseReportRepository.findById(10L)).thenReturn(Optional.of(report));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(cfo));
+        when(userDirectory.findById(2L)).thenReturn(Optional.of(cached(cfo)));
 
         ApprovalRequest req = new ApprovalRequest();
         req.setApproverId(2L);
@@ -182,4 +199,122 @@ class ExpenseReportServiceTest {
         assertThrows(IllegalStateException.class, () -> service.deleteDraft(10L, 1L));
         verify(expenseReportRepository, never()).delete(any());
     }
+
+    @Test
+    void searchWithFacets_derivesTotalsFromGroupedCounts() {
+        ExpenseReport r = draftReport(10L, employee(1L));
+        when(expenseReportRepository.searchSlice(any(), any(), any(), any(), any(), any())).thenReturn(List.of(r));
+        when(expenseReportRepository.searchFacets(any(), any(), any(), any())).thenReturn(List.of(
+                new Object[]{ExpenseReportStatus.DRAFT, "0-100", 1, 3L},
+                new Object[]{ExpenseReportStatus.DRAFT, "500-1000", 1, 1L},
+                new Object[]{ExpenseReportStatus.APPROVED, "0-100", 1, 8L}
+        ));
+
+        var page = service.searchReportsPaged(1L, "MANAGER", null, null, null, null, "activity_desc", 0, 5,
+                java.util.Set.of(ExpenseReportService.FACET_STATUS, ExpenseReportService.FACET_AMOUNT));
+
+        assertThat(page.getTotalElements()).isEqualTo(12L);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.getFacets().getStatus()).containsEntry("DRAFT", 4L).containsEntry("APPROVED", 8L);
+        assertThat(page.getFacets().getAmount()).containsEntry("0-100", 11L).containsEntry("500-1000", 1L).containsEntry("5000+", 0L);
+        verify(expenseReportRepository, never()).searchPaged(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void searchWithFacets_eachFacetIgnoresItsOwnFilter() {
+        when(expenseReportRepository.searchSlice(any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+        // Third column: whether the row is inside the requested min/max range
+        when(expenseReportRepository.searchFacets(any(), any(), any(), any())).thenReturn(List.of(
+                new Object[]{ExpenseReportStatus.DRAFT, "0-100", 1, 3L},
+                new Object[]{ExpenseReportStatus.DRAFT, "500-1000", 0, 1L},
+                new Object[]{ExpenseReportStatus.APPROVED, "0-100", 1, 8L},
+                new Object[]{ExpenseReportStatus.APPROVED, "5000+", 0, 2L}
+        ));
+
+        var page = service.searchReportsPaged(1L, "MANAGER", null, "DRAFT", null, new BigDecimal("100"), "activity_desc", 0, 5,
+                java.util.Set.of(ExpenseReportService.FACET_STATUS, ExpenseReportService.FACET_AMOUNT));
+
+        assertThat(page.getTotalElements()).isEqualTo(3L);
+        // Status facet: amount range applied, status filter not
+        assertThat(page.getFacets().getStatus()).containsOnly(entry("DRAFT", 3L), entry("APPROVED", 8L));
+        // Amount facet: status filter applied, amount range not
+        assertThat(page.getFacets().getAmount()).containsEntry("0-100", 3L).containsEntry("500-1000", 1L).containsEntry("5000+", 0L);
+    }
+
+    @Test
+    void updateReport_mergesItemsById() {
+        User submitter = employee(1L);
+        ExpenseReport report = draftReport(10L, submitter);
+        ExpenseItem kept = report.getItems().get(0);
+        kept.setId(100L);
+        ExpenseItem dropped = ExpenseItem.builder().id(101L).date(LocalDate.now()).description("Taxi")
+                .amount(new BigDecimal("20.00")).category("Travel").build();
+        report.getItems().add(dropped);
+        when(expenseReportRepository.findById(10L)).thenReturn(Optional.of(report));
+        when(userDirectory.findById(1L)).thenReturn(Optional.of(cached(submitter)));
+
+        ExpenseItemCreateRequest keep = new ExpenseItemCreateRequest();
+        keep.setId(100L);
+        keep.setDate(kept.getDate());
+        keep.setDescription("Travel");
+        keep.setAmount(new BigDecimal("75.00"));
+        keep.setCategory("Travel");
+        ExpenseItemCreateRequest added = new ExpenseItemCreateRequest();
+        added.setDate(LocalDate.now());
+        added.setDescription("Hotel");
+        added.setAmount(new BigDecimal("120.00"));
+        added.setCategory("Lodging");
+
+        ExpenseReportUpdateRequest req = new ExpenseReportUpdateRequest();
+        req.setSubmitterId(1L);
+        req.setTitle("Updated");
+        req.setItems(List.of(keep, added));
+
+        service.updateReport(10L, req);
+
+        assertThat(report.getItems()).hasSize(2).contains(kept).doesNotContain(dropped);
+        assertThat(kept.getId()).isEqualTo(100L);
+        assertThat(kept.getAmount()).isEqualByComparingTo("75.00");
+        assertThat(report.getTotalAmount()).isEqualByComparingTo("195.00");
+    }
+
+    @Test
+    void patchItem_adjustsTotalIncrementally() {
+        User submitter = employee(1L);
+        ExpenseReport report = draftReport(10L, submitter);
+        report.getItems().get(0).setId(100L);
+        report.setTotalAmount(new BigDecimal("250.00")); // 50 item + 200 per-diem
+        when(expenseReportRepository.findById(10L)).thenReturn(Optional.of(report));
+        when(userDirectory.findById(1L)).thenReturn(Optional.of(cached(submitter)));
+
+        ExpenseItemPatchRequest req = new ExpenseItemPatchRequest();
+        req.setAmount(new BigDecimal("80.00"));
+
+        service.patchItem(10L, 100L, 1L, req);
+
+        assertThat(report.getItems().get(0).getAmount()).isEqualByComparingTo("80.00");
+        assertThat(report.getItems().get(0).getDescription()).isEqualTo("Travel");
+        assertThat(report.getTotalAmount()).isEqualByComparingTo("280.00");
+        assertThrows(IllegalStateException.class, () -> service.patchItem(10L, 100L, 2L, req));
+    }
+
+    @Test
+    void approveReport_lostClaimFailsFast() {
+        User submitter = employee(1L);
+        User mgr = manager(2L);
+        ExpenseReport report = draftReport(10L, submitter);
+        report.setStatus(ExpenseReportStatus.MANAGER_REVIEW);
+        report.setVersion(3L);
+
+        when(expenseReportRepository.findById(10L)).thenReturn(Optional.of(report));
+        when(userDirectory.findById(2L)).thenReturn(Optional.of(cached(mgr)));
+        when(expenseReportRepository.claimTransition(10L, ExpenseReportStatus.MANAGER_REVIEW, 3L)).thenReturn(0);
+
+        ApprovalRequest req = new ApprovalRequest();
+        req.setApproverId(2L);
+
+        assertThrows(org.springframework.dao.OptimisticLockingFailureException.class, () -> service.approveReport(10L, req));
+        assertThat(report.getStatus()).isEqualTo(ExpenseReportStatus.MANAGER_REVIEW);
+        verify(auditLogOutboxRepository, never()).save(any());
+    }
 }
@@ -0,0 +1,50 @@
+package com.example.demo;
+
+import com.example.demo.util.GcraRateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcraRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsBurstThenOnePerEmissionInterval() {
+        // 6 per minute: one every 10 s, all 6 at once
+        var limiter = new GcraRateLimiter(6, Duration.ofMinutes(1), 6, 100, clock::get);
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        long wait = limiter.tryAcquire("a");
+        assertThat(wait).isEqualTo(Duration.ofSeconds(10).toNanos());
+        assertThat(limiter.tryAcquire("b")).isZero();   // keys are independent
+
+        clock.addAndGet(wait);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void cooldownWithoutBurst() {
+        var limiter = new GcraRateLimiter(1, Duration.ofSeconds(20), 1, 100, clock::get);
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        clock.addAndGet(Duration.ofSeconds(19).toNanos());
+        assertThat(limiter.tryAcquire("ip")).isEqualTo(Duration.ofSeconds(1).toNanos());
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(limiter.tryAcquire("ip")).isZero();
+    }
+
+    @Test
+    void keyTableStaysBounded() {
+        var limiter = new GcraRateLimiter(120, Duration.ofMinutes(1), 120, 1000, clock::get);
+        for (int i = 0; i < 50_000; i++) {
+            limiter.tryAcquire("10.0." + (i >> 8) + "." + (i & 0xff));
+            clock.addAndGet(1_000_000);   // 1 ms apart: keys go idle after 0.5 s
+        }
+        assertThat(limiter.size()).isLessThanOrEqualTo(1000);
+    }
+}
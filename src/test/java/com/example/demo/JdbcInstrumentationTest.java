@@ -0,0 +1,49 @@
+package com.example.demo;
+
+import com.example.demo.config.InstrumentedDataSource;
+import com.example.demo.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements are timed per repository method, exported as meters and, over the threshold (0 here), kept
+ * in a bounded log. Scheduled jobs write "other" statements into the same log, so entries are picked by method.
+ */
+@SpringBootTest(properties = {"app.db.slow-query.threshold=0ms", "app.db.slow-query.log-size=5"})
+class JdbcInstrumentationTest {
+
+    @Autowired DataSource dataSource;
+    @Autowired UserRepository userRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void tagsStatementsWithTheRepositoryMethod() throws Exception {
+        InstrumentedDataSource instrumented = dataSource.unwrap(InstrumentedDataSource.class);
+        for (int i = 0; i < 10; i++) {
+            userRepository.findByEmail("jun@example.com");
+        }
+
+        var stats = instrumented.stats();
+        assertThat(stats.statements().get("UserRepository.findByEmail").count()).isGreaterThanOrEqualTo(10);
+        assertThat(stats.acquire().count()).isPositive();
+        assertThat(stats.pool()).isNotNull();
+
+        var slow = instrumented.slowQueryLog();
+        assertThat(slow.recent()).hasSize(5);
+        assertThat(slow.total()).isGreaterThanOrEqualTo(10);
+        assertThat(slow.recent()).filteredOn(q -> q.method().equals("UserRepository.findByEmail"))
+                .isNotEmpty()
+                .allSatisfy(q -> assertThat(q.sql()).contains("users"));
+
+        assertThat(meterRegistry.get("db.statements").tag("method", "UserRepository.findByEmail").functionTimer().count())
+                .isGreaterThanOrEqualTo(10);
+        assertThat(meterRegistry.get("db.connection.acquire").functionTimer().count()).isPositive();
+        assertThat(meterRegistry.get("db.slow.queries").functionCounter().count()).isGreaterThanOrEqualTo(10);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo;
+
+import com.example.demo.config.JdbcRateLimitStore;
+import com.example.demo.util.RateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two stores over the same database act as two instances: together they admit the configured
+ * burst, not twice it, and go to the database about once per lease.
+ */
+@SpringBootTest
+class JdbcRateLimitStoreTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void instancesShareOneLimit() {
+        JdbcRateLimitStore nodeA = new JdbcRateLimitStore(jdbcTemplate, transactionManager, 5, 100);
+        JdbcRateLimitStore nodeB = new JdbcRateLimitStore(jdbcTemplate, transactionManager, 5, 100);
+        RateLimiter a = nodeA.create("test-writes", 40, Duration.ofHours(1), 40);
+        RateLimiter b = nodeB.create("test-writes", 40, Duration.ofHours(1), 40);
+
+        int allowed = 0;
+        for (int i = 0; i < 100; i++) {
+            RateLimiter node = i % 2 == 0 ? a : b;
+            if (node.tryAcquire("203.0.113.7") == 0) allowed++;
+        }
+
+        assertThat(allowed).isEqualTo(40);
+        // 8 leases of 5 tokens, then one refused lease per node; later refusals are answered locally
+        assertThat(nodeA.leaseCount() + nodeB.leaseCount()).isEqualTo(10);
+
+        long wait = a.tryAcquire("203.0.113.7");
+        assertThat(Duration.ofNanos(wait)).isBetween(Duration.ofSeconds(80), Duration.ofSeconds(90));
+        assertThat(b.tryAcquire("198.51.100.1")).isZero();
+    }
+}
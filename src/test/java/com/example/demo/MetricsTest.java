@@ -0,0 +1,49 @@
+package com.example.demo;
+
+import com.example.demo.domain.ExpenseReport;
+import com.example.demo.domain.ExpenseReportStatus;
+import com.example.demo.dto.ApprovalRequest;
+import com.example.demo.service.ExpenseReportService;
+import com.example.demo.service.PolicyEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Workflow timers, policy histograms and status gauges are registered up front and fed by the service.
+ */
+@SpringBootTest
+class MetricsTest {
+
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired ExpenseReportService expenseReportService;
+
+    @Test
+    void transitionsAndPolicyEvaluationsAreRecorded() {
+        Timer failedApprovals = meterRegistry.get("expense.report.transitions")
+                .tags("action", "approve", "outcome", "error").timer();
+        long before = failedApprovals.count();
+
+        ApprovalRequest request = new ApprovalRequest();
+        request.setApproverId(-1L);
+        assertThatThrownBy(() -> expenseReportService.approveReport(-1L, request))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(failedApprovals.count()).isEqualTo(before + 1);
+
+        // Registered at startup, before PolicyEngine is first used
+        long evaluations = meterRegistry.get("policy.evaluation").timer().count();
+        PolicyEngine.evaluateReportWarnings(new ExpenseReport());
+        assertThat(meterRegistry.get("policy.evaluation").timer().count()).isGreaterThan(evaluations);
+        assertThat(meterRegistry.get("policy.evaluation.items").summary().count()).isPositive();
+
+        assertThat(meterRegistry.get("expense.reports").gauges()).hasSize(ExpenseReportStatus.values().length);
+        assertThat(meterRegistry.get("rate.limit.rejections").counters()).hasSize(3);
+        assertThat(meterRegistry.get("concurrency.limit").tag("group", "search").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("concurrency.rejections").functionCounters()).hasSize(4);
+    }
+}
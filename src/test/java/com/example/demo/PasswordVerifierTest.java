@@ -0,0 +1,62 @@
+package com.example.demo;
+
+import com.example.demo.exception.OverloadedException;
+import com.example.demo.service.PasswordVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordVerifierTest {
+
+    @Test
+    void shedsChecksBeyondPoolAndQueue() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                return raw.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return raw.toString().equals(encoded);
+            }
+        };
+        PasswordVerifier verifier = new PasswordVerifier(slow, registry, 1, 1);
+        try {
+            CompletableFuture<Boolean> running = verifier.matches("pw", "pw");
+            CompletableFuture<Boolean> queued = verifier.matches("pw", "other");
+
+            assertThatThrownBy(() -> verifier.matches("pw", "pw"))
+                    .isInstanceOf(OverloadedException.class)
+                    .satisfies(e -> assertThat(((OverloadedException) e).getRetryAfterSeconds()).isPositive());
+            assertThat(verifier.stats().rejected()).isEqualTo(1);
+            assertThat(verifier.stats().queued()).isEqualTo(1);
+            assertThat(registry.get("auth.password.hash.rejections").counter().count()).isEqualTo(1);
+            assertThat(registry.get("auth.password.hash.queued").gauge().value()).isEqualTo(1);
+            assertThat(registry.get("auth.password.hash.active").gauge().value()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isFalse();
+            assertThat(verifier.stats().completed()).isEqualTo(2);
+            assertThat(registry.get("auth.password.hash").timer().count()).isEqualTo(2);
+        } finally {
+            verifier.shutdown();
+        }
+    }
+}
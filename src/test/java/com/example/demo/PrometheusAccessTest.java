@@ -0,0 +1,38 @@
+package com.example.demo;
+
+import com.example.demo.config.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With management on the application port (no management.server.port), the scrape endpoint needs an
+ * admin token; only a separate management port opens it up.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusAccessTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired JwtUtil jwtUtil;
+
+    @Test
+    void scrapeOnTheAppPortIsAdminOnly() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", bearer("EMPLOYEE")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", bearer("CFO")))
+                .andExpect(status().isOk());
+    }
+
+    private String bearer(String role) {
+        return "Bearer " + jwtUtil.generateToken(1L, "Metrics", "metrics@example.com", role);
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.demo;
+
+import com.example.demo.domain.ReportEvent;
+import com.example.demo.domain.ReportEventType;
+import com.example.demo.dto.ApprovalRequest;
+import com.example.demo.dto.StatsResponse;
+import com.example.demo.dto.SubmitRequest;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ExpenseReportImportService;
+import com.example.demo.service.DashboardStatsCache;
+import com.example.demo.service.ExpenseReportService;
+import com.example.demo.service.ReportEventDispatcher;
+import com.example.demo.service.ReportEventPublisher;
+import com.example.demo.service.ReportEventSubscriber;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Workflow events reach subscribers in order, a failing subscriber gets the batch again, a transaction
+ * that commits late still has its events delivered, and node-local subscribers see every event on
+ * every instance.
+ */
+@SpringBootTest
+class ReportEventDispatcherTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    static class RecordingSubscriber implements ReportEventSubscriber {
+        final List<ReportEvent> received = new CopyOnWriteArrayList<>();
+        volatile Long failFor;
+
+        @Override
+        public String name() {
+            return "test-recorder";
+        }
+
+        @Override
+        public void onEvent(ReportEvent event) {
+            if (event.getReportId().equals(failFor)) {
+                throw new IllegalStateException("subscriber down");
+            }
+            received.add(event);
+        }
+
+        List<ReportEventType> typesFor(Long reportId) {
+            return received.stream().filter(e -> e.getReportId().equals(reportId)).map(ReportEvent::getType).toList();
+        }
+    }
+
+    @Autowired ReportEventDispatcher dispatcher;
+    @Autowired RecordingSubscriber recorder;
+    @Autowired ExpenseReportService expenseReportService;
+    @Autowired ExpenseReportImportService importService;
+    @Autowired UserRepository userRepository;
+    @Autowired ReportEventPublisher publisher;
+    @Autowired DashboardStatsCache statsCache;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void deliversInOrder_andRedeliversAfterFailure() throws Exception {
+        Long submitterId = userRepository.findByEmail("jun@example.com").orElseThrow().getId();
+        Long managerId = userRepository.findByEmail("manager@example.com").orElseThrow().getId();
+
+        String ndjson = "{\"submitterId\":" + submitterId + ",\"title\":\"Events\",\"items\":["
+                + "{\"date\":\"2026-03-02\",\"description\":\"Taxi\",\"amount\":20,\"category\":\"Transportation\"}]}\n";
+        Long reportId = importService.importReports(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))
+                .getResults().get(0).getReportId();
+        expenseReportService.submitReport(reportId, SubmitRequest.builder().submitterId(submitterId).build());
+
+        dispatcher.dispatch();
+        assertThat(recorder.typesFor(reportId))
+                .containsExactly(ReportEventType.REPORT_CREATED, ReportEventType.REPORT_SUBMITTED);
+        List<Long> positions = recorder.received.stream().map(ReportEvent::getSeq).toList();
+        assertThat(positions).isSorted().doesNotHaveDuplicates();
+
+        // The subscriber fails: its checkpoint stays put and the error is recorded
+        recorder.failFor = reportId;
+        ApprovalRequest approval = new ApprovalRequest();
+        approval.setApproverId(managerId);
+        expenseReportService.approveReport(reportId, approval);
+        dispatcher.dispatch();
+        assertThat(recorder.typesFor(reportId)).doesNotContain(ReportEventType.REPORT_ADVANCED);
+        ReportEventDispatcher.SubscriberStatus failing = status();
+        assertThat(failing.failures()).isPositive();
+        assertThat(failing.lastError()).contains("subscriber down");
+        assertThat(failing.pending()).isPositive();
+
+        // Once it recovers the event is delivered and the checkpoint catches up
+        recorder.failFor = null;
+        dispatcher.dispatch();
+        assertThat(recorder.typesFor(reportId)).endsWith(ReportEventType.REPORT_ADVANCED);
+        ReportEventDispatcher.SubscriberStatus recovered = status();
+        assertThat(recovered.failures()).isZero();
+        assertThat(recovered.lastEventId()).isGreaterThan(failing.lastEventId());
+    }
+
+    @Test
+    void eventOfALongTransaction_isDeliveredAfterItCommits() throws Exception {
+        long slowReport = -System.nanoTime();
+        long fastReport = slowReport - 1;
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Takes its id first and commits last
+            Future<?> slow = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                publisher.publishAll(List.of(event(slowReport)));
+                inserted.countDown();
+                await(commit);
+            }));
+            await(inserted);
+            publisher.publishAll(List.of(event(fastReport)));
+
+            dispatcher.dispatch();
+            assertThat(recorder.typesFor(fastReport)).containsExactly(ReportEventType.REPORT_UPDATED);
+            assertThat(recorder.typesFor(slowReport)).isEmpty();
+
+            commit.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+            dispatcher.dispatch();
+            assertThat(recorder.typesFor(slowReport)).containsExactly(ReportEventType.REPORT_UPDATED);
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nodeLocalSubscribers_getEveryEventOnEveryInstance() {
+        // A second instance against the same database, with its own stats cache and the shared recorder
+        DashboardStatsCache otherCache = new DashboardStatsCache();
+        ReportEventDispatcher other = new ReportEventDispatcher(List.of(otherCache, recorder), jdbcTemplate,
+                namedJdbcTemplate, transactionManager, 200, Duration.ofDays(7));
+        other.afterSingletonsInstantiated();
+        StatsResponse before = StatsResponse.builder().build();
+        statsCache.get(() -> before);
+        otherCache.get(() -> before);
+
+        long reportId = -System.nanoTime();
+        publisher.publishAll(List.of(event(reportId)));
+        dispatcher.dispatch();
+        other.dispatch();
+
+        StatsResponse after = StatsResponse.builder().build();
+        assertThat(statsCache.get(() -> after)).isSameAs(after);
+        assertThat(otherCache.get(() -> after)).isSameAs(after);
+        // A shared subscriber still gets it once, on whichever instance ran first
+        assertThat(recorder.typesFor(reportId)).containsExactly(ReportEventType.REPORT_UPDATED);
+    }
+
+    private static ReportEvent event(long reportId) {
+        return ReportEventPublisher.event(ReportEventType.REPORT_UPDATED, reportId, "DRAFT", "DRAFT", null, null,
+                LocalDateTime.now());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) throw new IllegalStateException("timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ReportEventDispatcher.SubscriberStatus status() {
+        return dispatcher.status().stream()
+                .filter(s -> s.subscriber().equals("test-recorder"))
+                .findFirst().orElseThrow();
+    }
+}
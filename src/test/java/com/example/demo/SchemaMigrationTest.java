@@ -0,0 +1,91 @@
+package com.example.demo;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The schema comes from the migrations (Hibernate only validates it), and migrating an up-to-date database does nothing.
+ */
+@SpringBootTest
+class SchemaMigrationTest {
+
+    private static final List<String> SEQUENCE_TABLES = List.of(
+            "users", "expense_reports", "expense_items", "audit_logs", "special_reviews", "special_review_items");
+
+    @Autowired Flyway flyway;
+    @Autowired DataSource dataSource;
+
+    @Test
+    void upToDateSchemaIsANoOp() {
+        assertThat(flyway.info().applied()).extracting(m -> m.getVersion().getVersion()).contains("1", "2");
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.migrate().migrationsExecuted).isZero();
+        assertThat(flyway.validateWithResult().validationSuccessful).isTrue();
+    }
+
+    @Test
+    void databaseCreatedByDdlAutoIsMigratedToTheCurrentSchema() {
+        DriverManagerDataSource legacy = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(legacy);
+        // What ddl-auto=update left behind: the V1 schema with identity-generated ids, and no history table
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/common/V1__baseline_schema.sql")).execute(legacy);
+        for (int i = 0; i < 3; i++) {
+            jdbc.update("insert into users (name, email, role) values (?, ?, 'EMPLOYEE')", "Old " + i, "old" + i + "@example.com");
+        }
+        jdbc.update("insert into expense_reports (title, created_at, status, submitter_id) values ('Old', current_timestamp, 'DRAFT', 3)");
+        jdbc.update("insert into expense_items (date, description, amount, category, expense_report_id) values (current_date, 'Taxi', 20, 'Transportation', 1)");
+        jdbc.update("insert into audit_logs (report_id, action, to_status, created_at) values (1, 'CREATED', 'DRAFT', current_timestamp)");
+
+        Flyway adopting = Flyway.configure().configuration(flyway.getConfiguration()).dataSource(legacy).load();
+        adopting.migrate();
+
+        MigrationInfo[] applied = adopting.info().applied();
+        assertThat(applied[0].getType().isBaseline()).isTrue();
+        assertThat(Arrays.stream(applied).map(m -> m.getVersion().getVersion()))
+                .containsExactlyElementsOf(Arrays.stream(flyway.info().applied()).map(m -> m.getVersion().getVersion()).toList());
+        assertThat(schema(legacy)).containsExactlyInAnyOrderElementsOf(schema(dataSource));
+
+        // The first pooled block of every sequence starts after the ids the table already holds
+        for (String table : SEQUENCE_TABLES) {
+            long maxId = jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            long next = jdbc.queryForObject("select nextval('" + table + "_seq')", Long.class);
+            assertThat(next - 49).as(table).isGreaterThan(maxId);
+        }
+        assertThat(jdbc.queryForObject("select version from expense_reports where id = 1", Long.class)).isZero();
+    }
+
+    /**
+     * Columns (type, nullability, identity) and indexes of the application tables. Hibernate's HTE_
+     * temporary tables and the numbering H2 gives foreign key indexes are left out.
+     */
+    private static List<String> schema(DataSource db) {
+        JdbcTemplate jdbc = new JdbcTemplate(db);
+        List<String> schema = new ArrayList<>(jdbc.queryForList("""
+                select table_name || '.' || column_name || ' ' || data_type || ' ' || is_nullable || ' ' || is_identity
+                from information_schema.columns
+                where table_schema = 'PUBLIC' and table_name <> 'flyway_schema_history' and table_name not like 'HTE\\_%'
+                """, String.class));
+        schema.addAll(jdbc.queryForList("""
+                select table_name || ' ' || regexp_replace(index_name, '_INDEX_[0-9A-F]+$', '') from information_schema.indexes
+                where table_schema = 'PUBLIC' and table_name <> 'flyway_schema_history' and table_name not like 'HTE\\_%'
+                  and index_name not like 'PRIMARY_KEY%' and index_name not like 'CONSTRAINT%'
+                """, String.class));
+        return schema;
+    }
+}
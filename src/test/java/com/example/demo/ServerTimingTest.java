@@ -0,0 +1,56 @@
+package com.example.demo;
+
+import com.example.demo.config.JwtUtil;
+import com.example.demo.domain.User;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Server-Timing breaks a response down into auth, db, policy and serialization, for the configured roles only.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ServerTimingTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired JwtUtil jwtUtil;
+    @Autowired UserRepository userRepository;
+
+    @Test
+    void phasesAreReportedToFinanceButNotToEmployees() throws Exception {
+        User finance = userRepository.findByEmail("finance@example.com").orElseThrow();
+        // search runs on the dashboard read pool: its queries still count, and the header comes with the async dispatch
+        String header = search(finance, "CFO").getResponse().getHeader("Server-Timing");
+        assertThat(header)
+                .contains("auth;dur=")
+                .contains("db;dur=")
+                .contains("ser;dur=")
+                .containsPattern("total;dur=\\d+\\.\\d{2}$");
+
+        User employee = userRepository.findByEmail("jun@example.com").orElseThrow();
+        assertThat(search(employee, "EMPLOYEE").getResponse().getHeader("Server-Timing")).isNull();
+    }
+
+    private MvcResult search(User user, String role) throws Exception {
+        String bearer = "Bearer " + jwtUtil.generateToken(user.getId(), user.getName(), user.getEmail(), role);
+        MvcResult started = mockMvc.perform(get("/api/expense-reports/search")
+                        .param("requesterId", user.getId().toString()).param("requesterRole", role)
+                        .header("Authorization", bearer))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
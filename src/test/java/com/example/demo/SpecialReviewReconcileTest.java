@@ -0,0 +1,123 @@
+package com.example.demo;
+
+import com.example.demo.domain.ExpenseReportStatus;
+import com.example.demo.dto.*;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ExpenseReportImportService;
+import com.example.demo.service.ExpenseReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Resubmitting after changes were requested keeps unchanged review rows and their decisions,
+ * and the delta endpoint reports only what the CFO has to look at again.
+ */
+@SpringBootTest
+class SpecialReviewReconcileTest {
+
+    @Autowired ExpenseReportService expenseReportService;
+    @Autowired ExpenseReportImportService importService;
+    @Autowired UserRepository userRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void resubmit_reconcilesItemsByCode() throws Exception {
+        Long submitterId = userRepository.findByEmail("jun@example.com").orElseThrow().getId();
+        Long cfoId = userRepository.findByEmail("finance@example.com").orElseThrow().getId();
+
+        String ndjson = "{\"submitterId\":" + submitterId + ",\"title\":\"Offsite\",\"items\":["
+                + "{\"date\":\"2026-02-03\",\"description\":\"Team dinner show\",\"amount\":300,\"category\":\"Entertainment\"},"
+                + "{\"date\":\"2026-02-03\",\"description\":\"Monitor\",\"amount\":500,\"category\":\"Office\"},"
+                + "{\"date\":\"2026-02-03\",\"description\":\"Hotel\",\"amount\":400,\"category\":\"Hotel\"}]}\n";
+        Long reportId = importService.importReports(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))
+                .getResults().get(0).getReportId();
+        Long entertainment = itemId(reportId, "Entertainment");
+        Long office = itemId(reportId, "Office");
+        Long hotel = itemId(reportId, "Hotel");
+
+        assertThat(expenseReportService.submitReport(reportId, SubmitRequest.builder()
+                .submitterId(submitterId)
+                .reasons(List.of(new SubmitRequest.WarningReason("ENTERTAINMENT_ABOVE_CAP#" + entertainment, "Client event")))
+                .build()))
+                .isEqualTo(ExpenseReportStatus.CFO_SPECIAL_REVIEW);
+        Long entertainmentRow = reviewItemId("ENTERTAINMENT_ABOVE_CAP#" + entertainment);
+
+        assertThat(expenseReportService.decideExceptionReview(reportId, decision(cfoId, "Please fix office and hotel",
+                new SpecialReviewDecisionRequest.ItemDecision("ENTERTAINMENT_ABOVE_CAP#" + entertainment, "APPROVE", null),
+                new SpecialReviewDecisionRequest.ItemDecision("OFFICE_ABOVE_CAP#" + office, "REJECT", "Over cap"),
+                new SpecialReviewDecisionRequest.ItemDecision("HOTEL_ABOVE_CAP#" + hotel, "REJECT", "Over cap"))))
+                .isEqualTo(ExpenseReportStatus.CHANGES_REQUESTED);
+
+        // Office drops under the cap, hotel changes amount, a new taxi item goes over the cap
+        ExpenseItemPatchRequest officePatch = new ExpenseItemPatchRequest();
+        officePatch.setAmount(new BigDecimal("150"));
+        expenseReportService.patchItem(reportId, office, submitterId, officePatch);
+        ExpenseItemPatchRequest hotelPatch = new ExpenseItemPatchRequest();
+        hotelPatch.setAmount(new BigDecimal("280"));
+        expenseReportService.patchItem(reportId, hotel, submitterId, hotelPatch);
+        ExpenseItemCreateRequest taxi = new ExpenseItemCreateRequest();
+        taxi.setDate(LocalDate.of(2026, 2, 3));
+        taxi.setDescription("Airport taxi");
+        taxi.setAmount(new BigDecimal("300"));
+        taxi.setCategory("Transportation");
+        Long transportation = expenseReportService.addItem(reportId, submitterId, taxi);
+
+        assertThat(expenseReportService.submitReport(reportId, SubmitRequest.builder().submitterId(submitterId).build()))
+                .isEqualTo(ExpenseReportStatus.CFO_SPECIAL_REVIEW);
+
+        // The unchanged warning keeps its row, reason and decision
+        assertThat(reviewItemId("ENTERTAINMENT_ABOVE_CAP#" + entertainment)).isEqualTo(entertainmentRow);
+        assertThat(jdbcTemplate.queryForObject(
+                "select employee_reason || '/' || finance_decision from special_review_items where id = ?", String.class, entertainmentRow))
+                .isEqualTo("Client event/APPROVE");
+
+        SpecialReviewDeltaResponse delta = new TransactionTemplate(transactionManager)
+                .execute(tx -> expenseReportService.getExceptionReviewDelta(reportId));
+        assertThat(delta.getRound()).isEqualTo(2);
+        assertThat(delta.getAdded()).extracting(SpecialReviewItemResponse::getCode)
+                .containsExactly("TRANSPORTATION_ABOVE_CAP#" + transportation);
+        assertThat(delta.getChanged()).extracting(SpecialReviewItemResponse::getCode)
+                .containsExactly("HOTEL_ABOVE_CAP#" + hotel);
+        assertThat(delta.getChanged().get(0).getFinanceDecision()).isNull();
+        assertThat(delta.getUnchangedCodes()).containsExactly("ENTERTAINMENT_ABOVE_CAP#" + entertainment);
+        assertThat(delta.getRemovedCodes()).containsExactly("OFFICE_ABOVE_CAP#" + office);
+
+        // Deciding only the delta is enough; the entertainment approval carries over
+        assertThat(expenseReportService.decideExceptionReview(reportId, decision(cfoId, null,
+                new SpecialReviewDecisionRequest.ItemDecision("HOTEL_ABOVE_CAP#" + hotel, "APPROVE", null),
+                new SpecialReviewDecisionRequest.ItemDecision("TRANSPORTATION_ABOVE_CAP#" + transportation, "APPROVE", null))))
+                .isEqualTo(ExpenseReportStatus.MANAGER_REVIEW);
+    }
+
+    private static SpecialReviewDecisionRequest decision(Long cfoId, String comment,
+                                                         SpecialReviewDecisionRequest.ItemDecision... decisions) {
+        return SpecialReviewDecisionRequest.builder()
+                .reviewerId(cfoId)
+                .reviewerRole("CFO")
+                .reviewerComment(comment)
+                .decisions(List.of(decisions))
+                .build();
+    }
+
+    private Long itemId(Long reportId, String category) {
+        return jdbcTemplate.queryForObject("select id from expense_items where expense_report_id = ? and category = ?",
+                Long.class, reportId, category);
+    }
+
+    private Long reviewItemId(String code) {
+        return jdbcTemplate.queryForObject("select id from special_review_items where code = ?", Long.class, code);
+    }
+}
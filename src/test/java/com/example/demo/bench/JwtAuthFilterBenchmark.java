@@ -0,0 +1,60 @@
+package com.example.demo.bench;
+
+import com.example.demo.config.JwtAuthFilter;
+import com.example.demo.config.JwtUtil;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtAuthFilter for a repeated bearer token, with the verified-token cache
+ * disabled (cacheSize = 0: signature check and claims parse on every call) and enabled.
+ *
+ * Run with:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.demo.bench.JwtAuthFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    @Param({"0", "10000"})
+    int cacheSize;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil("benchmark-secret-key-at-least-32-bytes!", 3_600_000, cacheSize);
+        filter = new JwtAuthFilter(jwtUtil);
+        request = new MockHttpServletRequest("GET", "/api/expense-reports");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(6L, "Manager Kim", "manager@example.com", "MANAGER"));
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        // OncePerRequestFilter marks the request as filtered; clear it so every call does the work.
+        request.removeAttribute(filter.getClass().getName() + ".FILTERED");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        Object auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return auth;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.bench;
+
+import com.example.demo.util.GcraRateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitFilter's per-request limiter check at 64 threads: the previous synchronized token bucket
+ * in an unbounded map (copied below as the baseline) against GcraRateLimiter, for a few hot client
+ * IPs and for many distinct ones.
+ *
+ * Run with:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.demo.bench.RateLimiterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"4", "100000"})
+    int distinctKeys;
+
+    private String[] keys;
+    private GcraRateLimiter gcra;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setUp() {
+        keys = new String[distinctKeys];
+        for (int i = 0; i < distinctKeys; i++) {
+            keys[i] = "10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+        }
+        gcra = GcraRateLimiter.of(120, Duration.ofMinutes(1), 10_000);
+    }
+
+    private String key() {
+        return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+    }
+
+    @Benchmark
+    public boolean synchronizedTokenBucket() {
+        return buckets.computeIfAbsent(key(), k -> TokenBucket.perMinute(120)).tryConsume();
+    }
+
+    @Benchmark
+    public boolean gcra() {
+        return gcra.tryAcquire(key()) == 0;
+    }
+
+    /** The limiter RateLimitFilter used before GcraRateLimiter, unchanged. */
+    static final class TokenBucket {
+        private final int capacity;
+        private final long refillEveryMs;
+
+        private int tokens;
+        private long lastRefillMs;
+
+        private TokenBucket(int capacity, long refillEveryMs) {
+            this.capacity = Math.max(1, capacity);
+            this.refillEveryMs = Math.max(1000L, refillEveryMs);
+            this.tokens = this.capacity;
+            this.lastRefillMs = System.currentTimeMillis();
+        }
+
+        static TokenBucket perMinute(int maxPerMinute) {
+            int cap = Math.max(1, maxPerMinute);
+            long every = Duration.ofMinutes(1).toMillis() / cap;
+            return new TokenBucket(cap, every);
+        }
+
+        synchronized boolean tryConsume() {
+            refill();
+            if (tokens <= 0) return false;
+            tokens -= 1;
+            return true;
+        }
+
+        private void refill() {
+            long now = System.currentTimeMillis();
+            long elapsed = now - lastRefillMs;
+            if (elapsed < refillEveryMs) return;
+
+            int add = (int) (elapsed / refillEveryMs);
+            if (add <= 0) return;
+
+            tokens = Math.min(capacity, tokens + add);
+            lastRefillMs = now;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimiterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.demo.bench;
+
+import com.example.demo.dto.ExpenseReportListItemResponse;
+import com.example.demo.dto.PageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding a 100-row report page (PageResponse of ExpenseReportListItemResponse) as JSON, Smile and
+ * CBOR, with and without gzip, using mappers configured like the HTTP converters (BinaryCodecConfig).
+ * main() prints the encoded sizes before the timings.
+ *
+ * Run with:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.demo.bench.SerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    private ObjectMapper mapper;
+    private PageResponse<ExpenseReportListItemResponse> page;
+
+    @Setup
+    public void setUp() {
+        mapper = mapper(format);
+        page = page(100);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encodeGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(page));
+    }
+
+    static ObjectMapper mapper(String format) {
+        // Same defaults as Spring Boot's auto-configured builder
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return switch (format) {
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            default -> builder.build();
+        };
+    }
+
+    static PageResponse<ExpenseReportListItemResponse> page(int rows) {
+        List<ExpenseReportListItemResponse> content = new ArrayList<>();
+        String[] statuses = {"DRAFT", "MANAGER_REVIEW", "CFO_REVIEW", "APPROVED", "REJECTED"};
+        String[] cities = {"Tokyo", "New York", "Los Angeles", "Seoul", "London"};
+        for (int i = 0; i < rows; i++) {
+            LocalDate departure = LocalDate.of(2026, 1, 1).plusDays(i * 3L);
+            content.add(ExpenseReportListItemResponse.builder()
+                    .id(1000L + i)
+                    .title("Client visit " + cities[i % cities.length] + " #" + i)
+                    .totalAmount(new BigDecimal("1234.56").add(BigDecimal.valueOf(i * 17L, 2)))
+                    .status(statuses[i % statuses.length])
+                    .destination(cities[i % cities.length])
+                    .departureDate(departure)
+                    .returnDate(departure.plusDays(3))
+                    .perDiemAmount(new BigDecimal("225.00"))
+                    .perDiemRate(new BigDecimal("75.00"))
+                    .perDiemDays(3)
+                    .flagged(i % 7 == 0)
+                    .build());
+        }
+        return PageResponse.<ExpenseReportListItemResponse>builder()
+                .content(content).page(0).size(rows).totalElements(5_000).totalPages(50).build();
+    }
+
+    static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        for (String format : new String[]{"json", "smile", "cbor"}) {
+            byte[] raw = mapper(format).writeValueAsBytes(page(100));
+            System.out.printf("%-6s %6d bytes, %6d gzipped%n", format, raw.length, gzip(raw).length);
+        }
+        new Runner(new OptionsBuilder().include(SerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}